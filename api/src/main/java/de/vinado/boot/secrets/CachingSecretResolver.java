@@ -0,0 +1,54 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * A resolver decorator that loads every location through a {@link SecretContentCache}. Share the cache among several
+ * resolvers of the same kind in order to read each location at most once. Raw content is not cached. Locations
+ * missing from the cache are {@link #loadAll(Collection) loaded} in a single batch of the delegate.
+ *
+ * @author Vincent Nadoll
+ */
+public class CachingSecretResolver implements SecretResolver {
+
+    private final SecretResolver delegate;
+    private final SecretContentCache cache;
+
+    public CachingSecretResolver(SecretResolver delegate, SecretContentCache cache) {
+        Assert.notNull(delegate, "Delegate must not be null");
+        Assert.notNull(cache, "Cache must not be null");
+
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<String> loadContent(@Nullable String location) {
+        if (null == location) {
+            return delegate.loadContent(location);
+        }
+
+        return cache.load(location, delegate);
+    }
+
+    @Override
+    public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+        return cache.loadAll(locations, delegate);
+    }
+
+    @Override
+    public Optional<byte[]> loadBytes(@Nullable String location) {
+        return delegate.loadBytes(location);
+    }
+
+    @Override
+    public OptionalLong getContentLength(@Nullable String location) {
+        return delegate.getContentLength(location);
+    }
+}
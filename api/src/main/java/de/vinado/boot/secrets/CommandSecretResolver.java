@@ -0,0 +1,193 @@
+package de.vinado.boot.secrets;
+
+import lombok.SneakyThrows;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static de.vinado.boot.secrets.Utils.await;
+import static de.vinado.boot.secrets.Utils.newDaemonExecutor;
+
+/**
+ * <p>
+ * A resolver implementation for loading secrets from the standard output of helper commands, similar to Git's
+ * credential helpers. Locations consist of the <em>exec:</em> scheme and the command line, e.g.
+ * <em>exec:pass show db/password</em>. The command line is split at whitespace and run without a shell, so quoting,
+ * pipes and variable expansion are not supported. Standard error is discarded.
+ * </p><p>
+ * Every command line is run once per instance and its output is kept until the instance is discarded. Commands are run
+ * by a bounded pool. Hence, loading locations concurrently, e.g. with <em>secrets.loading.parallel</em>, runs the
+ * helpers concurrently without exceeding the configured concurrency. So does {@link #loadAll(Collection)}, which starts
+ * all commands before waiting for any of them. A command is killed and fails if it doesn't exit
+ * within the configured timeout or writes more than the configured output size. A non-zero exit status fails as
+ * well.
+ * </p><p>
+ * Locations of any other scheme are loaded by the given fallback resolver.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class CommandSecretResolver implements SecretResolver {
+
+    public static final String SCHEME = "exec:";
+
+    public static final String ENABLED_PROPERTY = "secrets.exec.enabled";
+    public static final String TIMEOUT_PROPERTY = "secrets.exec.timeout";
+    public static final String MAX_OUTPUT_PROPERTY = "secrets.exec.max-output";
+    public static final String CONCURRENCY_PROPERTY = "secrets.exec.concurrency";
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    public static final DataSize DEFAULT_MAX_OUTPUT = DataSize.ofKilobytes(64);
+
+    private final SecretResolver fallback;
+    private final Duration timeout;
+    private final long maxOutput;
+    private final Executor executor;
+    private final Map<String, CompletableFuture<byte[]>> outputs = new ConcurrentHashMap<>();
+
+    public CommandSecretResolver(SecretResolver fallback) {
+        this(fallback, DEFAULT_TIMEOUT, DEFAULT_MAX_OUTPUT, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CommandSecretResolver(SecretResolver fallback, Duration timeout, DataSize maxOutput, int concurrency) {
+        Assert.notNull(fallback, "Fallback resolver must not be null");
+        Assert.notNull(timeout, "Timeout must not be null");
+        Assert.isTrue(!timeout.isNegative() && !timeout.isZero(), "Timeout must be positive");
+        Assert.notNull(maxOutput, "Max output must not be null");
+        Assert.isTrue(!maxOutput.isNegative(), "Max output must not be negative");
+        Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero");
+
+        this.fallback = fallback;
+        this.timeout = timeout;
+        this.maxOutput = maxOutput.toBytes();
+        this.executor = newDaemonExecutor("secrets-exec-", concurrency);
+    }
+
+    /**
+     * Creates a resolver configured by <em>secrets.exec.*</em> properties, if <em>secrets.exec.enabled</em> is
+     * {@literal true}. Commands are never run otherwise, since everyone able to set a location could run any program.
+     *
+     * @param propertyResolver the resolver of the configuration properties; must not be {@literal null}
+     * @param fallback         the resolver of locations of any other scheme; must not be {@literal null}
+     * @return a new resolver or the fallback if commands are not enabled
+     */
+    public static SecretResolver of(PropertyResolver propertyResolver, SecretResolver fallback) {
+        if (!propertyResolver.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return fallback;
+        }
+
+        String timeout = propertyResolver.getProperty(TIMEOUT_PROPERTY);
+        String maxOutput = propertyResolver.getProperty(MAX_OUTPUT_PROPERTY);
+        return new CommandSecretResolver(fallback,
+            null == timeout ? DEFAULT_TIMEOUT : DurationStyle.detectAndParse(timeout),
+            null == maxOutput ? DEFAULT_MAX_OUTPUT : DataSize.parse(maxOutput),
+            propertyResolver.getProperty(CONCURRENCY_PROPERTY, Integer.class,
+                Runtime.getRuntime().availableProcessors()));
+    }
+
+    @Override
+    public Optional<String> loadContent(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.loadContent(location);
+        }
+
+        return await(loadContentAsync(location));
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> loadContentAsync(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.loadContentAsync(location);
+        }
+
+        return getOutput(location).thenApply(output -> Optional.of(new String(output, StandardCharsets.UTF_8))
+            .filter(StringUtils::hasText)
+            .map(String::trim));
+    }
+
+    @Override
+    public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+        Assert.notNull(locations, "Locations must not be null");
+        return Utils.loadAll(locations, CommandSecretResolver::isSupported, this::loadContentAsync, fallback);
+    }
+
+    @Override
+    public Optional<byte[]> loadBytes(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.loadBytes(location);
+        }
+
+        return Optional.of(await(getOutput(location)).clone());
+    }
+
+    @Override
+    public OptionalLong getContentLength(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.getContentLength(location);
+        }
+
+        return OptionalLong.empty();
+    }
+
+    private static boolean isSupported(@Nullable String location) {
+        return null != location && location.startsWith(SCHEME);
+    }
+
+    private CompletableFuture<byte[]> getOutput(String location) {
+        CompletableFuture<byte[]> future = outputs.computeIfAbsent(location,
+            key -> CompletableFuture.supplyAsync(() -> run(key.substring(SCHEME.length())), executor));
+        return future.whenComplete((output, e) -> {
+            if (null != e) {
+                outputs.remove(location, future);
+            }
+        });
+    }
+
+    @SneakyThrows({IOException.class, InterruptedException.class})
+    private byte[] run(String commandLine) {
+        String[] command = StringUtils.tokenizeToStringArray(commandLine, " \t");
+        Assert.notEmpty(command, "Command must not be empty");
+
+        Process process = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        CompletableFuture<Void> watchdog = CompletableFuture.runAsync(process::destroyForcibly,
+            CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        try (InputStream stream = process.getInputStream()) {
+            process.getOutputStream().close();
+            byte[] output = stream.readNBytes((int) Math.min(maxOutput + 1, Integer.MAX_VALUE - 8));
+            if (output.length > maxOutput) {
+                throw new IllegalStateException("Output of command [" + command[0] + "] exceeds " + maxOutput
+                    + " bytes");
+            }
+
+            int exitValue = process.waitFor();
+            if (!watchdog.cancel(false)) {
+                throw new IllegalStateException("Command [" + command[0] + "] timed out after " + timeout);
+            }
+            if (0 != exitValue) {
+                throw new IllegalStateException("Command [" + command[0] + "] exited with status " + exitValue);
+            }
+            return output;
+        } finally {
+            watchdog.cancel(false);
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * An immutable map of property names and values optimized for lookups. Names and values are kept in two arrays in the
+ * order of the copied map. An open-addressing table with linear probing maps the hash of every name to its position,
+ * so that a lookup reads a few adjacent array slots instead of following node references. The table is at most half
+ * full, which keeps probe sequences short, also for names that are not contained.
+ * </p><p>
+ * Names are interned when the map is created. Lookups with constant names, which are interned by the JVM, therefore
+ * match by reference before {@link String#equals(Object)} compares any characters.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+final class CompactPropertyMap extends AbstractMap<String, Object> {
+
+    private final String[] names;
+    private final Object[] values;
+    private final int[] table;
+    private final int mask;
+
+    private CompactPropertyMap(Map<String, ?> source) {
+        int size = source.size();
+        int capacity = Integer.highestOneBit(Math.max(size, 1)) << 2;
+        this.names = new String[size];
+        this.values = new Object[size];
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+
+        int index = 0;
+        for (Map.Entry<String, ?> entry : source.entrySet()) {
+            Assert.notNull(entry.getKey(), "Property name must not be null");
+            String name = entry.getKey().intern();
+            names[index] = name;
+            values[index] = entry.getValue();
+            int slot = hash(name) & mask;
+            while (0 != table[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = ++index;
+        }
+    }
+
+    /**
+     * Creates an immutable copy of the given map, unless it is one already.
+     *
+     * @param source the map to be copied; must not be {@literal null}
+     * @return an immutable copy; never {@literal null}
+     */
+    static CompactPropertyMap copyOf(Map<String, ?> source) {
+        Assert.notNull(source, "Source must not be null");
+        return source instanceof CompactPropertyMap map ? map : new CompactPropertyMap(source);
+    }
+
+    private static int hash(String name) {
+        int hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(@Nullable Object key) {
+        if (!(key instanceof String name)) {
+            return -1;
+        }
+
+        int slot = hash(name) & mask;
+        int entry;
+        while (0 != (entry = table[slot])) {
+            String candidate = names[entry - 1];
+            if (candidate == name || candidate.equals(name)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    @Nullable
+    public Object get(@Nullable Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return 0 == names.length;
+    }
+
+    /**
+     * Returns the property names in the order of the copied map. The returned array is shared and must not be
+     * modified.
+     *
+     * @return the property names; never {@literal null}
+     */
+    String[] getNames() {
+        return names;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(names[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+}
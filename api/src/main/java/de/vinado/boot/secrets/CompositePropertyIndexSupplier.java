@@ -3,21 +3,43 @@ package de.vinado.boot.secrets;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.env.PropertyResolver;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 
-import static de.vinado.boot.secrets.Utils.value;
+import static de.vinado.boot.secrets.Utils.await;
 
 /**
+ * <p>
  * Composite {@link PropertyIndexSupplier} managing delegates of its own type.
+ * </p><p>
+ * The entries of the delegates are {@link PropertyIndexSupplier#forEach(java.util.function.BiConsumer) visited} and
+ * merged into a single map. Delegates implementing {@link StreamingPropertyIndexSupplier} therefore don't create maps
+ * of their own.
+ * </p><p>
+ * Delegates are evaluated one after another by default. Pass an executor to {@link Builder#concurrent(Executor)} in
+ * order to evaluate them concurrently, e.g. when one lists a large directory and another one queries a remote index.
+ * Either way, the entries are merged in the order the delegates were added, so that the result of the merge function
+ * doesn't depend on which delegate finishes first. Register a listener with {@link Builder#onConflict(Consumer)} in
+ * order to learn which delegate won each conflict. A delegate passing the same property name more than once is
+ * rejected, whatever the merge function.
+ * </p>
  *
  * @author Vincent Nadoll
  */
@@ -27,6 +49,10 @@ public class CompositePropertyIndexSupplier implements PropertyIndexSupplier {
     private final List<PropertyIndexSupplier> delegates;
     private final BinaryOperator<String> mergeFunction;
     private final PropertyResolver resolver;
+    @Nullable
+    private final Executor executor;
+    @Nullable
+    private final Consumer<Conflict> conflictListener;
 
     /**
      * Merges and returns a map of all delegates this component holds. The merge strategy is implicitly set be the prior
@@ -41,12 +67,82 @@ public class CompositePropertyIndexSupplier implements PropertyIndexSupplier {
      */
     @Override
     public Map<String, String> get() throws IllegalStateException {
-        return delegates.stream()
-            .map(PropertyIndexSupplier::get)
-            .map(Map::entrySet)
-            .flatMap(Set::stream)
-            .map(value(substituteIfNotNull()))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, mergeFunction));
+        List<CompletableFuture<List<Map.Entry<String, String>>>> futures = collectConcurrently();
+        UnaryOperator<String> substitute = substituteIfNotNull();
+        Map<String, String> index = new HashMap<>();
+        Map<String, PropertyIndexSupplier> owners = null == conflictListener ? null : new HashMap<>();
+        for (int i = 0; i < delegates.size(); i++) {
+            PropertyIndexSupplier delegate = delegates.get(i);
+            BiConsumer<String, String> mergeEntry = (propertyName, location) ->
+                merge(index, owners, delegate, propertyName, substitute.apply(location));
+            if (0 == i || null == futures) {
+                delegate.forEach(rejectingDuplicates(mergeEntry));
+            } else {
+                await(futures.get(i)).forEach(entry -> mergeEntry.accept(entry.getKey(), entry.getValue()));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Starts collecting the entries of all delegates but the first one, which is visited by the calling thread.
+     */
+    @Nullable
+    private List<CompletableFuture<List<Map.Entry<String, String>>>> collectConcurrently() {
+        if (null == executor || delegates.size() < 2) {
+            return null;
+        }
+
+        List<CompletableFuture<List<Map.Entry<String, String>>>> futures = new ArrayList<>(delegates.size());
+        futures.add(null);
+        for (PropertyIndexSupplier delegate : delegates.subList(1, delegates.size())) {
+            futures.add(CompletableFuture.supplyAsync(() -> collect(delegate), executor));
+        }
+        return futures;
+    }
+
+    private static List<Map.Entry<String, String>> collect(PropertyIndexSupplier delegate) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>();
+        delegate.forEach(rejectingDuplicates((propertyName, location) ->
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(propertyName, location))));
+        return entries;
+    }
+
+    /**
+     * Rejects property names a single delegate passes more than once, like {@link StreamingPropertyIndexSupplier#get()}
+     * does, e.g. <em>FOO_BAR</em> and <em>foo_bar</em> which both map to <em>foo.bar</em>. The merge function only
+     * applies to properties of different delegates.
+     */
+    private static BiConsumer<String, String> rejectingDuplicates(BiConsumer<String, String> action) {
+        Set<String> propertyNames = new HashSet<>();
+        return (propertyName, location) -> {
+            if (!propertyNames.add(propertyName)) {
+                throw new IllegalStateException("Duplicate key " + propertyName);
+            }
+            action.accept(propertyName, location);
+        };
+    }
+
+    private void merge(Map<String, String> index, @Nullable Map<String, PropertyIndexSupplier> owners,
+                       PropertyIndexSupplier delegate, String propertyName, String location) {
+        if (null == owners) {
+            index.merge(propertyName, location, mergeFunction);
+            return;
+        }
+
+        PropertyIndexSupplier owner = owners.putIfAbsent(propertyName, delegate);
+        if (null == owner || owner == delegate) {
+            index.merge(propertyName, location, mergeFunction);
+            return;
+        }
+
+        String existingLocation = index.get(propertyName);
+        String mergedLocation = index.merge(propertyName, location, mergeFunction);
+        boolean kept = Objects.equals(existingLocation, mergedLocation);
+        PropertyIndexSupplier winner = kept ? owner : delegate;
+        owners.put(propertyName, winner);
+        conflictListener.accept(new Conflict(propertyName, winner, kept ? delegate : owner,
+            kept ? location : existingLocation));
     }
 
     private UnaryOperator<String> substituteIfNotNull() {
@@ -60,8 +156,12 @@ public class CompositePropertyIndexSupplier implements PropertyIndexSupplier {
     @Override
     public PropertyIndexSupplier substituteValues(PropertyResolver resolver) {
         Assert.notNull(resolver, "Property resolver must not be null");
-        return () -> get().entrySet().stream()
-            .collect(Collectors.toMap(Map.Entry::getKey, substituteValue(resolver)));
+        Function<Map.Entry<?, String>, String> substituteValue = substituteValue(resolver);
+        return () -> {
+            Map<String, String> index = get();
+            index.replaceAll((propertyName, location) -> substituteValue.apply(Map.entry(propertyName, location)));
+            return index;
+        };
     }
 
     @Override
@@ -114,6 +214,18 @@ public class CompositePropertyIndexSupplier implements PropertyIndexSupplier {
         return new Builder(mergeFunction);
     }
 
+    /**
+     * A property provided by several delegates.
+     *
+     * @param propertyName      the name of the property
+     * @param winner            the delegate whose location is kept
+     * @param loser             the delegate whose location is discarded
+     * @param discardedLocation the location of the loser
+     */
+    public record Conflict(String propertyName, PropertyIndexSupplier winner, PropertyIndexSupplier loser,
+                           String discardedLocation) {
+    }
+
     /**
      * Convenience component making use of the Builder Pattern to instantiate a new
      * {@link CompositePropertyIndexSupplier}.
@@ -125,6 +237,10 @@ public class CompositePropertyIndexSupplier implements PropertyIndexSupplier {
 
         private final List<PropertyIndexSupplier> delegates = new ArrayList<>();
         private final BinaryOperator<String> mergeFunction;
+        @Nullable
+        private Executor executor;
+        @Nullable
+        private Consumer<Conflict> conflictListener;
 
         public Builder add(Map<String, String> properties) {
             Assert.notNull(properties, "Properties must not be null");
@@ -145,13 +261,41 @@ public class CompositePropertyIndexSupplier implements PropertyIndexSupplier {
             return this;
         }
 
+        /**
+         * Evaluates the delegates concurrently with the given executor. The first delegate is evaluated by the thread
+         * calling {@link CompositePropertyIndexSupplier#get()}. The entries are merged in the order the delegates were
+         * added nonetheless.
+         *
+         * @param executor the executor to evaluate the delegates with; must not be {@literal null}
+         * @return this builder
+         */
+        public Builder concurrent(Executor executor) {
+            Assert.notNull(executor, "Executor must not be null");
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Registers a listener which is notified of every property provided by more than one delegate, once the merge
+         * function has been applied. Notifications follow the order the delegates were added.
+         *
+         * @param listener the listener to be notified; must not be {@literal null}
+         * @return this builder
+         */
+        public Builder onConflict(Consumer<Conflict> listener) {
+            Assert.notNull(listener, "Conflict listener must not be null");
+            this.conflictListener = listener;
+            return this;
+        }
+
         /**
          * Creates a new instance of {@link CompositePropertyIndexSupplier} leaving property values as is.
          *
          * @return a new instance of {@link CompositePropertyIndexSupplier}
          */
         public CompositePropertyIndexSupplier build() {
-            return new CompositePropertyIndexSupplier(new ArrayList<>(delegates), mergeFunction, null);
+            return new CompositePropertyIndexSupplier(new ArrayList<>(delegates), mergeFunction, null, executor,
+                conflictListener);
         }
 
         /**
@@ -163,7 +307,8 @@ public class CompositePropertyIndexSupplier implements PropertyIndexSupplier {
          */
         public CompositePropertyIndexSupplier buildAndSubstitute(PropertyResolver resolver) {
             Assert.notNull(resolver, "Property resolver collection must not be null");
-            return new CompositePropertyIndexSupplier(new ArrayList<>(delegates), mergeFunction, resolver);
+            return new CompositePropertyIndexSupplier(new ArrayList<>(delegates), mergeFunction, resolver, executor,
+                conflictListener);
         }
     }
 }
@@ -0,0 +1,216 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import static de.vinado.boot.secrets.Utils.await;
+import static de.vinado.boot.secrets.Utils.newDaemonExecutor;
+
+/**
+ * <p>
+ * A resolver decorator that decrypts secrets encrypted at rest with AES-GCM. Encrypted secrets are stored as envelope:
+ * the <em>{aes-gcm}</em> prefix followed by the Base64 encoded 12 byte nonce, ciphertext and 16 byte authentication
+ * tag. Use {@link #encrypt(byte[], SecretKey)} to create envelopes. Contents without the prefix are passed through
+ * unchanged, so that encrypted and plain secrets can be mixed.
+ * </p><p>
+ * Every thread reuses one {@link Cipher} instead of looking up the provider and creating a new one per secret. As
+ * long as the key doesn't change, re-initializing a cipher doesn't expand the key again either. Hence, loading secrets
+ * concurrently, e.g. with <em>secrets.loading.parallel</em>, decrypts them in parallel at little cost per secret.
+ * {@link #loadContentAsync(String)} and {@link #loadAll(Collection)} are forwarded to the delegate, so that its
+ * asynchronous and batch loading are retained. Each content is decrypted in its own future: asynchronous loads are
+ * decrypted as soon as they complete, and the envelopes of a batch are decrypted by a pool of daemon threads, one per
+ * available processor at most, instead of one after another.
+ * </p><p>
+ * The content length is taken from the delegate, which is that of the envelope and thus an upper bound of the
+ * decrypted secret's size.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class DecryptingSecretResolver implements SecretResolver {
+
+    public static final String ENVELOPE_PREFIX = "{aes-gcm}";
+    public static final String KEY_LOCATION_PROPERTY = "secrets.encryption.key-location";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int NONCE_LENGTH = 12;
+    private static final int TAG_LENGTH = 16;
+    private static final byte[] ENVELOPE_PREFIX_BYTES = ENVELOPE_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    private final SecretResolver delegate;
+    private final SecretKey key;
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(DecryptingSecretResolver::createCipher);
+    private final Executor executor;
+
+    public DecryptingSecretResolver(SecretResolver delegate, SecretKey key) {
+        Assert.notNull(delegate, "Delegate must not be null");
+        Assert.notNull(key, "Key must not be null");
+
+        this.delegate = delegate;
+        this.key = key;
+        this.executor = newDaemonExecutor("secrets-decrypt-", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a decorator of the given resolver, if <em>secrets.encryption.key-location</em> is set. The location is
+     * loaded with the given resolver and must contain a Base64 encoded AES key of 128, 192 or 256 bits.
+     *
+     * @param propertyResolver the resolver of the configuration properties; must not be {@literal null}
+     * @param delegate         the resolver of the encrypted secrets and the key; must not be {@literal null}
+     * @return a new decorator or the given resolver if no key location is configured
+     * @throws IllegalStateException if the key location is configured but doesn't resolve
+     */
+    public static SecretResolver of(PropertyResolver propertyResolver, SecretResolver delegate) {
+        String keyLocation = propertyResolver.getProperty(KEY_LOCATION_PROPERTY);
+        if (!StringUtils.hasText(keyLocation)) {
+            return delegate;
+        }
+
+        byte[] key = delegate.loadContent(keyLocation)
+            .map(Base64.getDecoder()::decode)
+            .orElseThrow(() -> new IllegalStateException("Encryption key [" + keyLocation + "] does not exist"));
+        return new DecryptingSecretResolver(delegate, createKey(key));
+    }
+
+    /**
+     * Creates an AES key from the given bytes.
+     *
+     * @param key the raw key of 16, 24 or 32 bytes; must not be {@literal null}
+     * @return a new key; never {@literal null}
+     */
+    public static SecretKey createKey(byte[] key) {
+        Assert.notNull(key, "Key must not be null");
+        Assert.isTrue(16 == key.length || 24 == key.length || 32 == key.length,
+            "Key must be 128, 192 or 256 bits long");
+        return new SecretKeySpec(key, "AES");
+    }
+
+    /**
+     * Encrypts the given secret with a random nonce and creates the envelope to be stored.
+     *
+     * @param secret the secret to encrypt; must not be {@literal null}
+     * @param key    the key to encrypt with; must not be {@literal null}
+     * @return the envelope; never {@literal null}
+     */
+    public static String encrypt(byte[] secret, SecretKey key) {
+        Assert.notNull(secret, "Secret must not be null");
+        Assert.notNull(key, "Key must not be null");
+
+        byte[] nonce = new byte[NONCE_LENGTH];
+        new SecureRandom().nextBytes(nonce);
+        try {
+            Cipher cipher = createCipher();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH * 8, nonce));
+            ByteBuffer envelope = ByteBuffer.allocate(NONCE_LENGTH + cipher.getOutputSize(secret.length));
+            envelope.put(nonce);
+            cipher.doFinal(ByteBuffer.wrap(secret), envelope);
+            return ENVELOPE_PREFIX + Base64.getEncoder().encodeToString(envelope.array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Secret could not be encrypted", e);
+        }
+    }
+
+    @Override
+    public Optional<String> loadContent(@Nullable String location) {
+        return decryptContent(location, delegate.loadContent(location));
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> loadContentAsync(@Nullable String location) {
+        return delegate.loadContentAsync(location)
+            .thenApply(content -> decryptContent(location, content));
+    }
+
+    @Override
+    public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+        Map<String, CompletableFuture<Optional<String>>> futures = new LinkedHashMap<>();
+        delegate.loadAll(locations).forEach((location, content) -> futures.put(location, isEnvelope(content)
+            ? CompletableFuture.supplyAsync(() -> decryptContent(location, content), executor)
+            : CompletableFuture.completedFuture(decryptContent(location, content))));
+
+        Map<String, Optional<String>> contents = new LinkedHashMap<>();
+        futures.forEach((location, future) -> contents.put(location, await(future)));
+        return contents;
+    }
+
+    @Override
+    public Optional<byte[]> loadBytes(@Nullable String location) {
+        return delegate.loadBytes(location)
+            .map(content -> isEnvelope(content) ? decrypt(location, extractPayload(content)) : content);
+    }
+
+    @Override
+    public OptionalLong getContentLength(@Nullable String location) {
+        return delegate.getContentLength(location);
+    }
+
+    private Optional<String> decryptContent(@Nullable String location, Optional<String> content) {
+        return content
+            .map(value -> value.startsWith(ENVELOPE_PREFIX)
+                ? decryptToString(location, value.substring(ENVELOPE_PREFIX.length()))
+                : value)
+            .filter(StringUtils::hasText)
+            .map(String::trim);
+    }
+
+    private static boolean isEnvelope(Optional<String> content) {
+        return content.filter(value -> value.startsWith(ENVELOPE_PREFIX)).isPresent();
+    }
+
+    private static boolean isEnvelope(byte[] content) {
+        return content.length >= ENVELOPE_PREFIX_BYTES.length && Arrays.equals(content, 0,
+            ENVELOPE_PREFIX_BYTES.length, ENVELOPE_PREFIX_BYTES, 0, ENVELOPE_PREFIX_BYTES.length);
+    }
+
+    private static String extractPayload(byte[] content) {
+        return new String(content, ENVELOPE_PREFIX_BYTES.length, content.length - ENVELOPE_PREFIX_BYTES.length,
+            StandardCharsets.US_ASCII);
+    }
+
+    private String decryptToString(@Nullable String location, String payload) {
+        return new String(decrypt(location, payload), StandardCharsets.UTF_8);
+    }
+
+    private byte[] decrypt(@Nullable String location, String payload) {
+        byte[] envelope = Base64.getMimeDecoder().decode(payload);
+        if (envelope.length < NONCE_LENGTH + TAG_LENGTH) {
+            throw new IllegalStateException("Secret [" + location + "] is not a valid envelope");
+        }
+
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH * 8, envelope, 0, NONCE_LENGTH));
+            return cipher.doFinal(envelope, NONCE_LENGTH, envelope.length - NONCE_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Secret [" + location + "] could not be decrypted", e);
+        }
+    }
+
+    private static Cipher createCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(TRANSFORMATION + " is not supported", e);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.function.Function;
 
 /**
@@ -40,6 +41,29 @@ public class DefaultSecretResolver implements SecretResolver {
             .map(String::trim);
     }
 
+    @Override
+    public Optional<byte[]> loadBytes(@Nullable String location) {
+        return Optional.ofNullable(location)
+            .flatMap(resolveWith(resourceLoader))
+            .map(this::readBytes);
+    }
+
+    @Override
+    public OptionalLong getContentLength(@Nullable String location) {
+        return Optional.ofNullable(location)
+            .flatMap(resolveWith(resourceLoader))
+            .map(DefaultSecretResolver::contentLength)
+            .orElse(OptionalLong.empty());
+    }
+
+    private static OptionalLong contentLength(Resource resource) {
+        try {
+            return OptionalLong.of(resource.contentLength());
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        }
+    }
+
     private Function<String, Optional<Resource>> resolveWith(ResourceLoader resourceLoader) {
         return location -> loadResource(location, resourceLoader);
     }
@@ -57,4 +81,11 @@ public class DefaultSecretResolver implements SecretResolver {
             return StreamUtils.copyToString(stream, StandardCharsets.UTF_8);
         }
     }
+
+    @SneakyThrows(IOException.class)
+    private byte[] readBytes(Resource resource) {
+        try (InputStream stream = resource.getInputStream()) {
+            return StreamUtils.copyToByteArray(stream);
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package de.vinado.boot.secrets;
+
+import lombok.SneakyThrows;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>
+ * A resolver implementation for loading the content of <em>file:</em> URIs straight from the file system. Every file
+ * is read into a single array, whose trimmed range is decoded straight to a string. Like {@link DefaultSecretResolver},
+ * a file that doesn't exist has no content, while any other failure to read it is thrown.
+ * </p><p>
+ * Locations of any other scheme are loaded by the given fallback resolver, asynchronously and in batches if the
+ * fallback supports it.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class FileSecretResolver implements SecretResolver {
+
+    private final SecretResolver fallback;
+
+    public FileSecretResolver(SecretResolver fallback) {
+        Assert.notNull(fallback, "Fallback resolver must not be null");
+        this.fallback = fallback;
+    }
+
+    /**
+     * Loads the content of the given file URI or delegates to the fallback resolver if the location is not a file URI.
+     *
+     * @param location location from which the content is loaded
+     * @return secret
+     */
+    @Override
+    public Optional<String> loadContent(@Nullable String location) {
+        Path path = toPath(location);
+        if (null == path) {
+            return fallback.loadContent(location);
+        }
+
+        return readBytes(path)
+            .map(FileSecretResolver::decodeTrimmed)
+            .filter(StringUtils::hasText);
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> loadContentAsync(@Nullable String location) {
+        if (null == toPath(location)) {
+            return fallback.loadContentAsync(location);
+        }
+
+        return SecretResolver.super.loadContentAsync(location);
+    }
+
+    @Override
+    public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+        Assert.notNull(locations, "Locations must not be null");
+        return Utils.loadAll(locations, location -> null != toPath(location), this::loadContentAsync, fallback);
+    }
+
+    @Override
+    public Optional<byte[]> loadBytes(@Nullable String location) {
+        Path path = toPath(location);
+        if (null == path) {
+            return fallback.loadBytes(location);
+        }
+
+        return readBytes(path);
+    }
+
+    @Override
+    public OptionalLong getContentLength(@Nullable String location) {
+        Path path = toPath(location);
+        if (null == path) {
+            return fallback.getContentLength(location);
+        }
+
+        try {
+            return OptionalLong.of(Files.size(path));
+        } catch (IOException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    @Nullable
+    private static Path toPath(@Nullable String location) {
+        if (null == location || !location.startsWith(ResourceUtils.FILE_URL_PREFIX)) {
+            return null;
+        }
+
+        try {
+            return Paths.get(ResourceUtils.toURI(location));
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    @SneakyThrows(IOException.class)
+    private static Optional<byte[]> readBytes(Path path) {
+        try {
+            return Optional.of(Files.readAllBytes(path));
+        } catch (IOException e) {
+            if (e instanceof NoSuchFileException || !Files.exists(path)) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private static String decodeTrimmed(byte[] content) {
+        int begin = 0;
+        int end = content.length;
+        while (begin < end && (content[begin] & 0xff) <= ' ') {
+            begin++;
+        }
+        while (end > begin && (content[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        return new String(content, begin, end - begin, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,209 @@
+package de.vinado.boot.secrets;
+
+import lombok.SneakyThrows;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.json.JsonParserFactory;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static de.vinado.boot.secrets.Utils.await;
+import static de.vinado.boot.secrets.Utils.newDaemonExecutor;
+
+/**
+ * <p>
+ * A resolver implementation for loading secrets from a key/value store with a Vault-style HTTP API. Locations consist
+ * of the <em>vault://</em> scheme, the path of a secret document and the key of the entry, separated by <em>#</em>,
+ * e.g. <em>vault://secret/data/app#password</em>. The path is appended to the base URI and requested with the token
+ * in the <em>X-Vault-Token</em> header. Both versions of Vault's KV engine are supported: entries are taken from the
+ * response's <em>data</em> object or, if it carries <em>metadata</em>, from the object nested in it.
+ * </p><p>
+ * Each document is requested once per instance, no matter how many of its entries are referenced. Requests are sent
+ * by a bounded pool over a single {@link HttpClient}, which keeps connections alive and reuses them. Hence, loading
+ * locations concurrently, e.g. with <em>secrets.loading.parallel</em>, pipelines the requests without exceeding the
+ * configured concurrency. {@link #loadAll(Collection)} sends the requests of all documents before waiting for any of
+ * them. Every request times out after the configured duration. Missing documents and entries don't resolve; any other
+ * unsuccessful response fails.
+ * </p><p>
+ * Locations of any other scheme are loaded by the given fallback resolver.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class HttpSecretResolver implements SecretResolver {
+
+    public static final String SCHEME = "vault://";
+    public static final char KEY_SEPARATOR = '#';
+    public static final String TOKEN_HEADER = "X-Vault-Token";
+
+    public static final String URI_PROPERTY = "secrets.vault.uri";
+    public static final String TOKEN_PROPERTY = "secrets.vault.token";
+    public static final String TIMEOUT_PROPERTY = "secrets.vault.timeout";
+    public static final String CONCURRENCY_PROPERTY = "secrets.vault.concurrency";
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private final SecretResolver fallback;
+    private final String baseUri;
+    @Nullable
+    private final String token;
+    private final Duration timeout;
+    private final Executor executor;
+    private final HttpClient client;
+    private final Map<String, CompletableFuture<Map<String, Object>>> documents = new ConcurrentHashMap<>();
+
+    public HttpSecretResolver(SecretResolver fallback, URI baseUri, @Nullable String token) {
+        this(fallback, baseUri, token, DEFAULT_TIMEOUT, DEFAULT_CONCURRENCY);
+    }
+
+    public HttpSecretResolver(SecretResolver fallback, URI baseUri, @Nullable String token, Duration timeout,
+                              int concurrency) {
+        Assert.notNull(fallback, "Fallback resolver must not be null");
+        Assert.notNull(baseUri, "Base URI must not be null");
+        Assert.notNull(timeout, "Timeout must not be null");
+        Assert.isTrue(!timeout.isNegative() && !timeout.isZero(), "Timeout must be positive");
+        Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero");
+
+        this.fallback = fallback;
+        this.baseUri = StringUtils.trimTrailingCharacter(baseUri.toString(), '/');
+        this.token = token;
+        this.timeout = timeout;
+        this.executor = newDaemonExecutor("secrets-http-", concurrency);
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    /**
+     * Creates a resolver configured by <em>secrets.vault.*</em> properties, if <em>secrets.vault.uri</em> is set.
+     *
+     * @param propertyResolver the resolver of the configuration properties; must not be {@literal null}
+     * @param fallback         the resolver of locations of any other scheme; must not be {@literal null}
+     * @return a new resolver or the fallback if no base URI is configured
+     */
+    public static SecretResolver of(PropertyResolver propertyResolver, SecretResolver fallback) {
+        String baseUri = propertyResolver.getProperty(URI_PROPERTY);
+        if (!StringUtils.hasText(baseUri)) {
+            return fallback;
+        }
+
+        String timeout = propertyResolver.getProperty(TIMEOUT_PROPERTY);
+        return new HttpSecretResolver(fallback, URI.create(baseUri), propertyResolver.getProperty(TOKEN_PROPERTY),
+            null == timeout ? DEFAULT_TIMEOUT : DurationStyle.detectAndParse(timeout),
+            propertyResolver.getProperty(CONCURRENCY_PROPERTY, Integer.class, DEFAULT_CONCURRENCY));
+    }
+
+    @Override
+    public Optional<String> loadContent(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.loadContent(location);
+        }
+
+        return await(loadContentAsync(location));
+    }
+
+    @Override
+    public CompletableFuture<Optional<String>> loadContentAsync(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.loadContentAsync(location);
+        }
+
+        int index = location.lastIndexOf(KEY_SEPARATOR);
+        if (index < 0) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        String path = location.substring(SCHEME.length(), index);
+        String key = location.substring(index + 1);
+        return getDocument(path).thenApply(document -> Optional.ofNullable(document.get(key))
+            .map(String::valueOf)
+            .filter(StringUtils::hasText)
+            .map(String::trim));
+    }
+
+    @Override
+    public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+        Assert.notNull(locations, "Locations must not be null");
+        return Utils.loadAll(locations, HttpSecretResolver::isSupported, this::loadContentAsync, fallback);
+    }
+
+    @Override
+    public Optional<byte[]> loadBytes(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.loadBytes(location);
+        }
+
+        return loadContent(location).map(content -> content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public OptionalLong getContentLength(@Nullable String location) {
+        if (!isSupported(location)) {
+            return fallback.getContentLength(location);
+        }
+
+        return OptionalLong.empty();
+    }
+
+    private static boolean isSupported(@Nullable String location) {
+        return null != location && location.startsWith(SCHEME);
+    }
+
+    private CompletableFuture<Map<String, Object>> getDocument(String path) {
+        CompletableFuture<Map<String, Object>> future = documents.computeIfAbsent(path,
+            key -> CompletableFuture.supplyAsync(() -> request(key), executor));
+        return future.whenComplete((document, e) -> {
+            if (null != e) {
+                documents.remove(path, future);
+            }
+        });
+    }
+
+    @SneakyThrows({IOException.class, InterruptedException.class})
+    private Map<String, Object> request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + '/' + path))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET();
+        if (StringUtils.hasText(token)) {
+            builder.header(TOKEN_HEADER, token);
+        }
+
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        if (404 == status) {
+            return Map.of();
+        }
+        if (status < 200 || status >= 300) {
+            throw new IllegalStateException("Secret store responded with status " + status + " to [" + path + "]");
+        }
+        return getEntries(JsonParserFactory.getJsonParser().parseMap(response.body()));
+    }
+
+    private static Map<String, Object> getEntries(Map<String, Object> response) {
+        Map<String, Object> entries = getData(response);
+        return entries.containsKey("metadata") ? getData(entries) : entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getData(Map<String, Object> document) {
+        return document.get("data") instanceof Map<?, ?> data ? (Map<String, Object>) data : document;
+    }
+}
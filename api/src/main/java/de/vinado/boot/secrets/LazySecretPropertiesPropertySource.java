@@ -0,0 +1,201 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static de.vinado.boot.secrets.Utils.await;
+
+/**
+ * <p>
+ * {@link EnumerablePropertySource} containing secret properties which are loaded on first access. Only the property
+ * index is kept at startup. The content of a location is loaded by the given {@link SecretResolver} or
+ * {@link Loader} as soon as its property is requested and memoized afterwards. Concurrent requests for the same
+ * property wait for a single load, which runs outside of any lock of the memo.
+ * </p><p>
+ * Properties without content fall back to the <em>secretProperties</em> that were present before merging.
+ * </p><p>
+ * The property names are fixed and every value is memoized, so the source declares itself
+ * {@link #isImmutable() immutable}, like {@link SecretPropertiesPropertySource}.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class LazySecretPropertiesPropertySource extends EnumerablePropertySource<Map<String, String>>
+    implements OriginLookup<String> {
+
+    public static final String NAME = SecretPropertiesPropertySource.NAME;
+
+    private final Loader loader;
+    @Nullable
+    private final PropertySource<?> parent;
+    private final String[] propertyNames;
+    private final Map<String, CompletableFuture<Optional<String>>> contents = new ConcurrentHashMap<>();
+
+    public LazySecretPropertiesPropertySource(Map<String, String> index, SecretResolver resolver) {
+        this(index, asLoader(resolver), null);
+    }
+
+    private LazySecretPropertiesPropertySource(Map<String, String> index, Loader loader,
+                                               @Nullable PropertySource<?> parent) {
+        super(NAME, Collections.unmodifiableMap(new HashMap<>(index)));
+        Assert.notNull(loader, "Loader must not be null");
+
+        this.loader = loader;
+        this.parent = parent;
+        this.propertyNames = collectPropertyNames(index, parent);
+    }
+
+    private static Loader asLoader(SecretResolver resolver) {
+        Assert.notNull(resolver, "Resolver must not be null");
+        return (propertyName, location) -> resolver.loadContent(location);
+    }
+
+    private static String[] collectPropertyNames(Map<String, String> index, @Nullable PropertySource<?> parent) {
+        Set<String> names = new LinkedHashSet<>(index.keySet());
+        if (parent instanceof EnumerablePropertySource<?> enumerable) {
+            names.addAll(Arrays.asList(enumerable.getPropertyNames()));
+        }
+        return StringUtils.toStringArray(names);
+    }
+
+    @Override
+    @Nullable
+    public Object getProperty(String name) {
+        String location = getSource().get(name);
+        if (null != location) {
+            Optional<String> content = await(getContent(name, location));
+            if (content.isPresent()) {
+                return content.get();
+            }
+        }
+
+        return null == parent ? null : parent.getProperty(name);
+    }
+
+    private CompletableFuture<Optional<String>> getContent(String name, String location) {
+        CompletableFuture<Optional<String>> content = contents.get(name);
+        if (null != content) {
+            return content;
+        }
+
+        CompletableFuture<Optional<String>> loading = new CompletableFuture<>();
+        content = contents.putIfAbsent(name, loading);
+        if (null != content) {
+            return content;
+        }
+
+        try {
+            loading.complete(loader.load(name, location));
+        } catch (RuntimeException e) {
+            contents.remove(name, loading);
+            loading.completeExceptionally(e);
+        }
+        return loading;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return propertyNames.clone();
+    }
+
+    @Override
+    @Nullable
+    public Origin getOrigin(String key) {
+        return null;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
+    /**
+     * Returns the names of all indexed properties whose content has not been loaded yet.
+     *
+     * @return a set of property names; never {@literal null}
+     */
+    public Set<String> getUnreadPropertyNames() {
+        return getSource().keySet().stream()
+            .filter(name -> !isLoaded(name))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private boolean isLoaded(String name) {
+        CompletableFuture<Optional<String>> content = contents.get(name);
+        return null != content && content.isDone();
+    }
+
+    /**
+     * Merges the given index with existing <em>secretProperties</em> and adds them to the end of sources. The content
+     * of each location is loaded on first access.
+     *
+     * @param index    the map of property names and locations to be merged; must not be {@literal null}
+     * @param resolver the resolver which loads the content of a location; must not be {@literal null}
+     * @param sources  the collection of property sources to add the source to; must not be {@literal null}
+     */
+    public static void merge(Map<String, String> index, SecretResolver resolver, MutablePropertySources sources) {
+        merge(index, asLoader(resolver), sources);
+    }
+
+    /**
+     * Merges the given index with existing <em>secretProperties</em> and adds them to the end of sources. The content
+     * of each property is loaded on first access.
+     *
+     * @param index   the map of property names and locations to be merged; must not be {@literal null}
+     * @param loader  the loader which loads the content of a property; must not be {@literal null}
+     * @param sources the collection of property sources to add the source to; must not be {@literal null}
+     */
+    public static void merge(Map<String, String> index, Loader loader, MutablePropertySources sources) {
+        Assert.notNull(index, "Property index must not be null");
+        Assert.notNull(loader, "Loader must not be null");
+        Assert.notNull(sources, "Property sources must not be null");
+
+        if (CollectionUtils.isEmpty(index)) {
+            return;
+        }
+
+        PropertySource<?> existingSource = sources.get(NAME);
+        LazySecretPropertiesPropertySource propertySource =
+            new LazySecretPropertiesPropertySource(index, loader, existingSource);
+        if (null == existingSource) {
+            sources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, propertySource);
+        } else {
+            sources.replace(NAME, propertySource);
+        }
+    }
+
+    /**
+     * A strategy for loading the content of a single property.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Loads the content of the given property from the given location.
+         *
+         * @param propertyName the name of the requested property; never {@literal null}
+         * @param location     the indexed location of the property; never {@literal null}
+         * @return secret
+         */
+        Optional<String> load(String propertyName, String location);
+    }
+}
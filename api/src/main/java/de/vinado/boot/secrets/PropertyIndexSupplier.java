@@ -6,16 +6,19 @@ import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
-
-import static de.vinado.boot.secrets.Utils.value;
 
 /**
+ * <p>
  * An interface for specifying {@link Supplier}'s type.
+ * </p><p>
+ * Implement {@link StreamingPropertyIndexSupplier} instead in order to pass the entries on without collecting them
+ * into a map first. Consumers should visit the entries with {@link #forEach(BiConsumer)} rather than calling
+ * {@link #get()}, unless they need the map itself.
+ * </p>
  *
  * @author Vincent Nadoll
  */
@@ -23,17 +26,30 @@ import static de.vinado.boot.secrets.Utils.value;
 public interface PropertyIndexSupplier extends Supplier<Map<String, String>> {
 
     /**
-     * Creates an index supplier which substitutes every value contained by the underlying map.
+     * Passes every entry of the index to the given action. Unless overridden, the entries of {@link #get()} are
+     * passed.
+     *
+     * @param action the consumer of property name and location; must not be {@literal null}
+     */
+    default void forEach(BiConsumer<String, String> action) {
+        get().forEach(action);
+    }
+
+    /**
+     * Creates an index supplier which substitutes every value contained by the underlying map. The entries are
+     * substituted while they are visited, without collecting the underlying ones first.
      *
      * @param resolver the component that resolves system property
      * @return new instance of a substituting index supplier
      */
     default PropertyIndexSupplier substituteValues(PropertyResolver resolver) {
         Assert.notNull(resolver, "Property resolver must not be null");
-        Predicate<String> wherePropertyHasText = value -> StringUtils.hasText(resolver.getProperty(value));
-        return () -> get().entrySet().stream()
-            .filter(value(wherePropertyHasText))
-            .collect(Collectors.toMap(Map.Entry::getKey, substituteValue(resolver)));
+        Function<Map.Entry<?, String>, String> substituteValue = substituteValue(resolver);
+        return (StreamingPropertyIndexSupplier) action -> forEach((propertyName, location) -> {
+            if (StringUtils.hasText(resolver.getProperty(location))) {
+                action.accept(propertyName, substituteValue.apply(Map.entry(propertyName, location)));
+            }
+        });
     }
 
     /**
@@ -61,13 +77,25 @@ public interface PropertyIndexSupplier extends Supplier<Map<String, String>> {
     }
 
     /**
-     * Creates a instance of this {@link PropertyIndexSupplier} by supplying just the given map.
+     * Creates a instance of this {@link PropertyIndexSupplier} by supplying just the given map. {@link #get()} returns
+     * a copy of the map, whereas {@link #forEach(BiConsumer)} visits the map itself.
      *
      * @param properties must not be {@literal null}
      * @return new instance of {@link PropertyIndexSupplier}
      */
     static PropertyIndexSupplier from(Map<String, String> properties) {
         Assert.notNull(properties, "Properties must not be null");
-        return () -> new HashMap<>(properties);
+        return new StreamingPropertyIndexSupplier() {
+
+            @Override
+            public void forEach(BiConsumer<String, String> action) {
+                properties.forEach(action);
+            }
+
+            @Override
+            public Map<String, String> get() {
+                return new HashMap<>(properties);
+            }
+        };
     }
 }
@@ -0,0 +1,222 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.BootstrapRegistry;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ResourceUtils;
+
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ * A cache of secret contents keyed by normalized location. <em>file:</em> URIs are normalized to their absolute file
+ * system path, so that <em>file:/run/secrets/foo</em> and <em>file:///run/secrets/../secrets/foo</em> share one entry.
+ * Every other location is used as it is.
+ * </p><p>
+ * {@link #get(ConfigurableBootstrapContext)} shares one instance among all post-processors of an application, so that
+ * a location referenced by several post-processors is read at most once per start. That instance is closed together
+ * with the bootstrap context. A closed cache neither keeps nor returns contents, which makes sure that secrets are not
+ * held in memory any longer than environment preparation takes.
+ * </p><p>
+ * Locations can be {@link #prefetch(String, SecretResolver, Executor) prefetched} in the background. Only prefetched
+ * contents that are present and were loaded without failure are used; otherwise the location is loaded again on
+ * request.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class SecretContentCache {
+
+    private final Map<String, CompletableFuture<Optional<String>>> contents = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Returns the instance shared by all post-processors of the current application. A new, unshared instance is
+     * returned if no bootstrap context is available.
+     *
+     * @param bootstrapContext the application's bootstrap context; may be {@literal null}
+     * @return the shared cache; never {@literal null}
+     */
+    public static SecretContentCache get(@Nullable ConfigurableBootstrapContext bootstrapContext) {
+        if (null == bootstrapContext) {
+            return new SecretContentCache();
+        }
+
+        if (!bootstrapContext.isRegistered(SecretContentCache.class)) {
+            SecretContentCache cache = new SecretContentCache();
+            bootstrapContext.register(SecretContentCache.class, BootstrapRegistry.InstanceSupplier.of(cache));
+            bootstrapContext.addCloseListener(event -> cache.close());
+        }
+        return bootstrapContext.get(SecretContentCache.class);
+    }
+
+    /**
+     * Returns the cached content of the given location or loads it with the given resolver. Concurrent requests of
+     * the same location wait for the first one to complete. Failures are not cached.
+     *
+     * @param location the location to load; must not be {@literal null}
+     * @param resolver the resolver to load the location with on a cache miss; must not be {@literal null}
+     * @return the content of the location
+     */
+    public Optional<String> load(String location, SecretResolver resolver) {
+        Assert.notNull(location, "Location must not be null");
+        Assert.notNull(resolver, "Resolver must not be null");
+        if (closed) {
+            return resolver.loadContent(location);
+        }
+
+        String key = normalize(location);
+        CompletableFuture<Optional<String>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<String>> existingFuture = contents.putIfAbsent(key, future);
+        if (null != existingFuture) {
+            Optional<String> content = join(existingFuture);
+            if (null != content) {
+                return content;
+            }
+
+            contents.remove(key, existingFuture);
+            return load(location, resolver);
+        }
+
+        try {
+            Optional<String> content = resolver.loadContent(location);
+            future.complete(content);
+            return content;
+        } catch (RuntimeException e) {
+            contents.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cached contents of the given locations and loads the missing ones with a single
+     * {@link SecretResolver#loadAll(java.util.Collection) batch} of the given resolver. Like
+     * {@link #load(String, SecretResolver)}, concurrent requests of the same location wait for the first one to
+     * complete and failures are not cached.
+     *
+     * @param locations the locations to load; must not be {@literal null} or contain {@literal null}
+     * @param resolver  the resolver to load the missing locations with; must not be {@literal null}
+     * @return the content of every given location in iteration order
+     */
+    public Map<String, Optional<String>> loadAll(Collection<String> locations, SecretResolver resolver) {
+        Assert.notNull(locations, "Locations must not be null");
+        Assert.noNullElements(locations, "Locations must not contain null elements");
+        Assert.notNull(resolver, "Resolver must not be null");
+        if (closed) {
+            return resolver.loadAll(locations);
+        }
+
+        Map<String, CompletableFuture<Optional<String>>> futures = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Optional<String>>> misses = new LinkedHashMap<>();
+        for (String location : locations) {
+            if (futures.containsKey(location)) {
+                continue;
+            }
+
+            CompletableFuture<Optional<String>> future = new CompletableFuture<>();
+            CompletableFuture<Optional<String>> existingFuture = contents.putIfAbsent(normalize(location), future);
+            if (null == existingFuture) {
+                misses.put(location, future);
+            }
+            futures.put(location, null == existingFuture ? future : existingFuture);
+        }
+
+        if (!misses.isEmpty()) {
+            loadMisses(misses, resolver);
+        }
+
+        Map<String, Optional<String>> result = new LinkedHashMap<>();
+        futures.forEach((location, future) -> {
+            Optional<String> content = join(future);
+            if (null == content) {
+                contents.remove(normalize(location), future);
+                content = load(location, resolver);
+            }
+            result.put(location, content);
+        });
+        return result;
+    }
+
+    private void loadMisses(Map<String, CompletableFuture<Optional<String>>> misses, SecretResolver resolver) {
+        try {
+            Map<String, Optional<String>> loaded = resolver.loadAll(List.copyOf(misses.keySet()));
+            misses.forEach((location, future) ->
+                future.complete(Objects.requireNonNullElse(loaded.get(location), Optional.empty())));
+        } catch (RuntimeException e) {
+            misses.forEach((location, future) -> {
+                contents.remove(normalize(location), future);
+                future.completeExceptionally(e);
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * Starts loading the given location with the given executor, unless it is cached already.
+     *
+     * @param location the location to load; must not be {@literal null}
+     * @param resolver the resolver to load the location with; must not be {@literal null}
+     * @param executor the executor to load the location with; must not be {@literal null}
+     * @throws java.util.concurrent.RejectedExecutionException if the executor does not accept the task
+     */
+    public void prefetch(String location, SecretResolver resolver, Executor executor) {
+        Assert.notNull(location, "Location must not be null");
+        Assert.notNull(resolver, "Resolver must not be null");
+        Assert.notNull(executor, "Executor must not be null");
+        if (closed) {
+            return;
+        }
+
+        contents.computeIfAbsent(normalize(location), key -> CompletableFuture
+            .supplyAsync(() -> resolver.loadContent(location), executor)
+            .handle((content, e) -> null == e && content.isPresent() ? content : null));
+    }
+
+    @Nullable
+    private static Optional<String> join(CompletableFuture<Optional<String>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Discards all contents. Every subsequent request is passed on to its resolver.
+     */
+    public void close() {
+        closed = true;
+        contents.clear();
+    }
+
+    static String normalize(String location) {
+        if (!location.startsWith(ResourceUtils.FILE_URL_PREFIX)) {
+            return location;
+        }
+
+        try {
+            Path path = Paths.get(ResourceUtils.toURI(location));
+            return ResourceUtils.FILE_URL_PREFIX + path.toAbsolutePath().normalize();
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return location;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package de.vinado.boot.secrets;
+
+/**
+ * Enumeration of ways to expose the content of a secret as property value.
+ *
+ * @author Vincent Nadoll
+ */
+public enum SecretContentPolicy {
+
+    /**
+     * The content is decoded as UTF-8 and trimmed. This is the default for every secret.
+     */
+    TEXT,
+
+    /**
+     * The raw bytes are encoded in Base64 without being trimmed. Use this for binary secrets like PKCS#12 keystores.
+     */
+    BASE64,
+
+    /**
+     * The content is not read at all. The location itself is used as value, so that the consumer can stream the
+     * content, e.g. <em>server.ssl.key-store</em>.
+     */
+    LOCATION,
+
+    /**
+     * The content is not read at all and the property is not set.
+     */
+    SKIP
+}
@@ -1,26 +1,102 @@
 package de.vinado.boot.secrets;
 
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
+ * <p>
  * {@link MapPropertySource} containing secret properties.
+ * </p><p>
+ * This source is added right after the system environment, so it is probed for almost every property of the
+ * application. The given properties are therefore copied into an immutable map optimized for lookups, and the property
+ * names are cached. Later changes to the given map are not reflected; merging creates a new source instead.
+ * </p><p>
+ * Merging into a source that loads its values on access, like {@link LazySecretPropertiesPropertySource}, keeps that
+ * source as parent instead of copying its values, so that none of them is loaded. Properties of the parent are only
+ * looked up if this source doesn't contain them.
+ * </p><p>
+ * The source declares itself {@link #isImmutable() immutable}. Spring Boot's configuration property source adapter
+ * then converts the property names to configuration property names once and caches the result, instead of checking
+ * for changes whenever a {@link org.springframework.boot.context.properties.ConfigurationProperties} bean is bound.
+ * </p>
  *
  * @author Vincent Nadoll
  */
-public class SecretPropertiesPropertySource extends MapPropertySource {
+public class SecretPropertiesPropertySource extends MapPropertySource implements OriginLookup<String> {
 
     public static final String NAME = "secretProperties";
 
+    private final CompactPropertyMap properties;
+    @Nullable
+    private final PropertySource<?> parent;
+    private final String[] propertyNames;
+
     public SecretPropertiesPropertySource(Map<String, Object> source) {
-        super(NAME, source);
+        this(CompactPropertyMap.copyOf(source), null);
+    }
+
+    private SecretPropertiesPropertySource(CompactPropertyMap properties, @Nullable PropertySource<?> parent) {
+        super(NAME, properties);
+        this.properties = properties;
+        this.parent = parent;
+        this.propertyNames = collectPropertyNames(properties, parent);
+    }
+
+    private static String[] collectPropertyNames(CompactPropertyMap properties, @Nullable PropertySource<?> parent) {
+        if (!(parent instanceof EnumerablePropertySource<?> enumerable)) {
+            return properties.getNames();
+        }
+
+        Set<String> names = new LinkedHashSet<>(Arrays.asList(properties.getNames()));
+        names.addAll(Arrays.asList(enumerable.getPropertyNames()));
+        return StringUtils.toStringArray(names);
+    }
+
+    @Override
+    @Nullable
+    public Object getProperty(String name) {
+        Object value = properties.get(name);
+        if (null != value || null == parent) {
+            return value;
+        }
+
+        return parent.getProperty(name);
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        return properties.containsKey(name) || null != parent && parent.containsProperty(name);
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return propertyNames.clone();
+    }
+
+    @Override
+    @Nullable
+    public Origin getOrigin(String key) {
+        return null;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return true;
     }
 
     /**
@@ -37,28 +113,27 @@ public class SecretPropertiesPropertySource extends MapPropertySource {
             return;
         }
 
-        Map<String, Object> resultingSource = new HashMap<>();
-        SecretPropertiesPropertySource propertySource = new SecretPropertiesPropertySource(resultingSource);
-        if (sources.contains(NAME)) {
-            mergeIfPossible(source, sources, resultingSource);
-            sources.replace(NAME, propertySource);
+        PropertySource<?> existingSource = sources.get(NAME);
+        if (null == existingSource) {
+            sources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                new SecretPropertiesPropertySource(source));
         } else {
-            resultingSource.putAll(source);
-            sources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, propertySource);
+            sources.replace(NAME, merge(source, existingSource));
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static void mergeIfPossible(Map<String, Object> source, MutablePropertySources sources,
-                                        Map<String, Object> resultingSource) {
-        PropertySource<?> existingSource = sources.get(NAME);
-        if (null == existingSource) {
-            return;
+    private static SecretPropertiesPropertySource merge(Map<String, Object> source, PropertySource<?> existingSource) {
+        if (existingSource instanceof SecretPropertiesPropertySource secretSource) {
+            Map<String, Object> resultingSource = new HashMap<>(secretSource.properties);
+            resultingSource.putAll(source);
+            return new SecretPropertiesPropertySource(CompactPropertyMap.copyOf(resultingSource), secretSource.parent);
         }
-        Object underlyingSource = existingSource.getSource();
-        if (underlyingSource instanceof Map) {
-            resultingSource.putAll((Map<String, Object>) underlyingSource);
+        if (existingSource instanceof MapPropertySource mapSource) {
+            Map<String, Object> resultingSource = new HashMap<>(mapSource.getSource());
+            resultingSource.putAll(source);
+            return new SecretPropertiesPropertySource(resultingSource);
         }
-        resultingSource.putAll(source);
+
+        return new SecretPropertiesPropertySource(CompactPropertyMap.copyOf(source), existingSource);
     }
 }
@@ -1,12 +1,27 @@
 package de.vinado.boot.secrets;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+
+import static de.vinado.boot.secrets.Utils.await;
 
 /**
+ * <p>
  * An interface for loading the content of a file.
+ * </p><p>
+ * Resolvers of remote stores should override {@link #loadContentAsync(String)} in order to overlap requests, and
+ * {@link #loadAll(Collection)} if the store is able to return several secrets with a single request. Decorators
+ * should forward both methods to their delegates.
+ * </p>
  *
  * @author Vincent Nadoll
  */
@@ -21,6 +36,40 @@ public interface SecretResolver {
      */
     Optional<String> loadContent(@Nullable String location);
 
+    /**
+     * Starts loading the content from the given location. The default implementation loads the content in the calling
+     * thread and returns a completed future.
+     *
+     * @param location location from which the content is loaded
+     * @return a future of the secret; never {@literal null}
+     */
+    default CompletableFuture<Optional<String>> loadContentAsync(@Nullable String location) {
+        try {
+            return CompletableFuture.completedFuture(loadContent(location));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Loads the contents of all given locations. The default implementation starts loading every location with
+     * {@link #loadContentAsync(String)} before waiting for any of them.
+     *
+     * @param locations the locations from which the contents are loaded; must not be {@literal null}
+     * @return the secret of every given location in iteration order; never {@literal null}
+     */
+    default Map<String, Optional<String>> loadAll(Collection<String> locations) {
+        Assert.notNull(locations, "Locations must not be null");
+        Map<String, CompletableFuture<Optional<String>>> futures = new LinkedHashMap<>();
+        for (String location : locations) {
+            futures.computeIfAbsent(location, this::loadContentAsync);
+        }
+
+        Map<String, Optional<String>> contents = new LinkedHashMap<>();
+        futures.forEach((location, future) -> contents.put(location, await(future)));
+        return contents;
+    }
+
     /**
      * Loads the content from the given URI.
      *
@@ -31,4 +80,28 @@ public interface SecretResolver {
         return Optional.ofNullable(location)
             .flatMap(uri -> loadContent(uri.toString()));
     }
+
+    /**
+     * Loads the raw content from the given location. Unlike {@link #loadContent(String)}, the content is neither
+     * decoded nor trimmed. The default implementation encodes the text content as UTF-8, which suits text-only
+     * resolvers.
+     *
+     * @param location location from which the content is loaded
+     * @return raw secret
+     */
+    default Optional<byte[]> loadBytes(@Nullable String location) {
+        return loadContent(location)
+            .map(content -> content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Determines the size of the content at the given location in bytes without loading it. The default
+     * implementation returns {@link OptionalLong#empty()}, which means that the size is unknown.
+     *
+     * @param location location of the content
+     * @return the size in bytes or {@link OptionalLong#empty()} if unknown
+     */
+    default OptionalLong getContentLength(@Nullable String location) {
+        return OptionalLong.empty();
+    }
 }
@@ -0,0 +1,24 @@
+package de.vinado.boot.secrets;
+
+/**
+ * Enumeration of ways to handle a secret that could not be loaded in time.
+ *
+ * @author Vincent Nadoll
+ */
+public enum SecretTimeoutPolicy {
+
+    /**
+     * Loading fails and so does the application start. This is the default for every secret.
+     */
+    FAIL,
+
+    /**
+     * The property is not set, so that the value of another property source applies, if any.
+     */
+    SKIP,
+
+    /**
+     * The property is set to the value of <em>secrets.timeout.fallback.&lt;property&gt;</em>, if any.
+     */
+    FALLBACK
+}
@@ -0,0 +1,47 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.actuate.endpoint.OperationResponseBody;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.util.Assert;
+
+import java.util.List;
+
+/**
+ * <p>
+ * An actuator endpoint exposing the {@link SecretsReport} of the application: every secret property with the
+ * post-processor and location that supplied it, the locations it overrode, its size and how long loading took, as well
+ * as the duration of every loading phase. Secret values are never exposed.
+ * </p><p>
+ * The endpoint is registered automatically if the actuator is present. Like every endpoint, it has to be exposed, e.g.
+ * with <em>management.endpoints.web.exposure.include=secrets</em>.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@Endpoint(id = "secrets")
+public class SecretsEndpoint {
+
+    private final SecretsReport report;
+
+    public SecretsEndpoint(SecretsReport report) {
+        Assert.notNull(report, "Report must not be null");
+        this.report = report;
+    }
+
+    @ReadOperation
+    public SecretsDescriptor secrets() {
+        return new SecretsDescriptor(report.getEntries(), report.getPhases(), report.getTimeouts());
+    }
+
+    /**
+     * A description of the application's secret properties.
+     *
+     * @param properties the effective entry of every secret property
+     * @param phases     the duration of every loading phase
+     * @param timeouts   the locations that could not be loaded in time
+     */
+    public record SecretsDescriptor(List<SecretsReport.Entry> properties, List<SecretsReport.Phase> phases,
+                                    List<SecretsReport.Timeout> timeouts) implements OperationResponseBody {
+    }
+}
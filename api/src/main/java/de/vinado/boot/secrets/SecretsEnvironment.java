@@ -1,30 +1,128 @@
 package de.vinado.boot.secrets;
 
+import lombok.SneakyThrows;
 import org.apache.commons.logging.Log;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.log.LogMessage;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static de.vinado.boot.secrets.Utils.acceptAndLog;
+import static de.vinado.boot.secrets.Utils.await;
+import static de.vinado.boot.secrets.Utils.utf8Length;
 
 /**
+ * <p>
  * A wrapper around {@link ConfigurableEnvironment} which loads secrets and applies them to
  * {@link SecretPropertiesPropertySource}.
+ * </p><p>
+ * Secrets are loaded with a single {@link SecretResolver#loadAll(java.util.Collection) batch} of the resolver by
+ * default, which loads them one after another unless the resolver overrides it, e.g. in order to fetch them from a
+ * remote store with a single request. Set <em>secrets.loading.parallel</em> to {@literal true} in order to load them
+ * concurrently, e.g. from slow network mounts. The number of threads defaults to the number of processors available to
+ * the JVM and can be limited with <em>secrets.loading.parallelism</em>. Either way, the secrets are applied and logged
+ * in the order of the property index. Secrets of a batch are reported without load duration, since a batch doesn't
+ * tell how long each of its locations took.
+ * </p><p>
+ * Set <em>secrets.loading.lazy</em> to {@literal true} in order to defer loading until a secret property is accessed
+ * for the first time. See {@link LazySecretPropertiesPropertySource}.
+ * </p><p>
+ * A property whose location has no content is set by the first of its
+ * {@link #setFallbackLocations(Function) fallback locations} that has, if any. They are loaded one after another on
+ * the applying thread, but not if the location timed out.
+ * </p><p>
+ * Secrets are exposed as trimmed text by default. Set <em>secrets.content.policy.&lt;property&gt;</em> to another
+ * {@link SecretContentPolicy} in order to expose binary secrets in Base64 or as location. Set
+ * <em>secrets.content.max-size</em> in order to apply <em>secrets.content.oversized</em> to larger secrets instead,
+ * which defaults to {@link SecretContentPolicy#SKIP}. The size is only known if the resolver is able to determine it
+ * without loading the content.
+ * </p><p>
+ * Set <em>secrets.loading.timeout</em> in order to give up on a location that hasn't been loaded within that time,
+ * e.g. because of a hung network mount, and <em>secrets.loading.deadline</em> in order to give up on all locations
+ * that haven't been loaded once that time has passed since processing began. Reads that are given up on keep blocking
+ * a daemon thread, but no longer the application start. What happens next depends on the
+ * {@link SecretTimeoutPolicy} set with <em>secrets.timeout.policy.&lt;property&gt;</em>, or for all properties with
+ * <em>secrets.timeout.policy</em>, which defaults to {@link SecretTimeoutPolicy#FAIL}. The deadline doesn't apply to
+ * lazy loading.
+ * </p><p>
+ * Each phase is recorded as a {@link StartupStep} of the configured {@link ApplicationStartup}:
+ * <em>secrets.index</em> for building the property index, <em>secrets.resolve</em> for loading the secret contents
+ * and <em>secrets.merge</em> for merging them into the environment. The same phases, the outcome of every location
+ * and the size of every secret are recorded with the configured {@link SecretsMetrics}. The location, size and load
+ * duration of every applied secret, the duration of every phase and every location that timed out are recorded with
+ * the configured {@link SecretsReport}.
+ * </p>
  *
  * @author Vincent Nadoll
  */
 public class SecretsEnvironment {
 
+    public static final String PARALLEL_PROPERTY = "secrets.loading.parallel";
+    public static final String PARALLELISM_PROPERTY = "secrets.loading.parallelism";
+    public static final String LAZY_PROPERTY = "secrets.loading.lazy";
+    public static final String CONTENT_POLICY_PROPERTY_PREFIX = "secrets.content.policy.";
+    public static final String MAX_SIZE_PROPERTY = "secrets.content.max-size";
+    public static final String OVERSIZED_POLICY_PROPERTY = "secrets.content.oversized";
+    public static final String TIMEOUT_PROPERTY = "secrets.loading.timeout";
+    public static final String DEADLINE_PROPERTY = "secrets.loading.deadline";
+    public static final String TIMEOUT_POLICY_PROPERTY = "secrets.timeout.policy";
+    public static final String TIMEOUT_POLICY_PROPERTY_PREFIX = "secrets.timeout.policy.";
+    public static final String TIMEOUT_FALLBACK_PROPERTY_PREFIX = "secrets.timeout.fallback.";
+
     private final Log log;
     private final ConfigurableEnvironment environment;
     private final SecretResolver resolver;
     private final PropertyIndexSupplier propertyIndexSupplier;
 
     private final Map<String, Object> source = new HashMap<>();
+    private final Set<String> emptyLocations = ConcurrentHashMap.newKeySet();
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    @Nullable
+    private String processor;
+    private Function<String, List<String>> fallbackLocations = propertyName -> List.of();
+    private SecretsMetrics metrics = new SecretsMetrics();
+    private SecretsReport report = new SecretsReport();
+    private long bytesRead;
+    @Nullable
+    private DataSize maxSize;
+    private SecretContentPolicy oversizedPolicy = SecretContentPolicy.SKIP;
+    @Nullable
+    private Duration timeout;
+    @Nullable
+    private Duration deadline;
+    private long startTime;
 
     public SecretsEnvironment(DeferredLogFactory logFactory, ConfigurableEnvironment environment,
                               SecretResolver resolver, PropertyIndexSupplier propertyIndexSupplier) {
@@ -39,22 +137,510 @@ public class SecretsEnvironment {
         this.propertyIndexSupplier = propertyIndexSupplier;
     }
 
+    /**
+     * Sets the {@link ApplicationStartup} to record the loading phases with. Defaults to a no-op implementation.
+     *
+     * @param applicationStartup the application startup to be used; must not be {@literal null}
+     */
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        Assert.notNull(applicationStartup, "Application startup must not be null");
+        this.applicationStartup = applicationStartup;
+    }
+
+    /**
+     * Sets the name of the post-processor to tag the recorded startup steps with.
+     *
+     * @param processor the name of the post-processor; must not be {@literal null}
+     */
+    public void setProcessor(String processor) {
+        Assert.notNull(processor, "Processor must not be null");
+        this.processor = processor;
+    }
+
+    /**
+     * Sets the locations to fall back to, in the given order, when the indexed location of a property has no content.
+     * The function is applied once the property index has been built, so it may be populated while building it.
+     *
+     * @param fallbackLocations the function returning the fallback locations of a property; must not be
+     *                          {@literal null}
+     */
+    public void setFallbackLocations(Function<String, List<String>> fallbackLocations) {
+        Assert.notNull(fallbackLocations, "Fallback locations must not be null");
+        this.fallbackLocations = fallbackLocations;
+    }
+
+    /**
+     * Sets the {@link SecretsMetrics} to record measurements with. Defaults to an unshared instance.
+     *
+     * @param metrics the metrics recorder to be used; must not be {@literal null}
+     */
+    public void setMetrics(SecretsMetrics metrics) {
+        Assert.notNull(metrics, "Metrics must not be null");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the {@link SecretsReport} to record the source of every secret with. Defaults to an unshared instance.
+     *
+     * @param report the report to be used; must not be {@literal null}
+     */
+    public void setReport(SecretsReport report) {
+        Assert.notNull(report, "Report must not be null");
+        this.report = report;
+    }
+
     public final void processAndApply() {
+        startTime = System.nanoTime();
+        initContentLimit();
+        initTimeouts();
+        if (environment.getProperty(LAZY_PROPERTY, Boolean.class, false)) {
+            applyLazily();
+            return;
+        }
+
         resolveSecretResources();
+        StartupStep step = startStep("secrets.merge");
+        long start = System.nanoTime();
         SecretPropertiesPropertySource.merge(source, environment.getPropertySources());
+        report.recordPhase("merge", Duration.ofNanos(System.nanoTime() - start));
+        step.tag("property.count", String.valueOf(source.size()));
+        step.end();
+    }
+
+    /**
+     * Loads the secret value of a single property again, e.g. because its location changed. The content policy and the
+     * size limit of the property apply, but neither timeouts nor fallback locations. The value is recorded, but not
+     * applied to the environment.
+     *
+     * @param propertyName the name of the property; must not be {@literal null}
+     * @param location     the location to load the value from; must not be {@literal null}
+     * @return the secret value, if the location has content
+     */
+    public Optional<String> reload(String propertyName, String location) {
+        Assert.notNull(propertyName, "Property name must not be null");
+        Assert.notNull(location, "Location must not be null");
+
+        initContentLimit();
+        LoadResult result = load(propertyName, location);
+        report.recordEntry(propertyName, location, result.content(), result.duration());
+        record(location, result.content());
+        return result.content();
+    }
+
+    private void initContentLimit() {
+        String maxSizeProperty = environment.getProperty(MAX_SIZE_PROPERTY);
+        maxSize = null == maxSizeProperty ? null : DataSize.parse(maxSizeProperty);
+        oversizedPolicy = environment.getProperty(OVERSIZED_POLICY_PROPERTY, SecretContentPolicy.class,
+            SecretContentPolicy.SKIP);
+        Assert.isTrue(SecretContentPolicy.SKIP == oversizedPolicy || SecretContentPolicy.LOCATION == oversizedPolicy,
+            "Oversized policy must be either SKIP or LOCATION");
+    }
+
+    private void initTimeouts() {
+        timeout = getDuration(TIMEOUT_PROPERTY);
+        deadline = getDuration(DEADLINE_PROPERTY);
+        Assert.isTrue(null == timeout || isPositive(timeout), "Timeout must be positive");
+        Assert.isTrue(null == deadline || isPositive(deadline), "Deadline must be positive");
+    }
+
+    @Nullable
+    private Duration getDuration(String property) {
+        String value = environment.getProperty(property);
+        return StringUtils.hasText(value) ? DurationStyle.detectAndParse(value.trim()) : null;
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return !duration.isNegative() && !duration.isZero();
+    }
+
+    private void applyLazily() {
+        Map<String, String> index = createIndex();
+        for (String propertyName : index.keySet()) {
+            log.info(LogMessage.format("Defer loading of secret value to set [%s]", propertyName));
+        }
+
+        StartupStep step = startStep("secrets.merge");
+        long start = System.nanoTime();
+        LazySecretPropertiesPropertySource.merge(index, this::loadDeferred, environment.getPropertySources());
+        report.recordPhase("merge", Duration.ofNanos(System.nanoTime() - start));
+        step.tag("property.count", String.valueOf(index.size()));
+        step.tag("lazy", "true");
+        step.end();
+    }
+
+    private Map<String, String> createIndex() {
+        StartupStep step = startStep("secrets.index");
+        long start = System.nanoTime();
+        Map<String, String> index = propertyIndexSupplier.get();
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        metrics.recordIndex(duration);
+        report.recordPhase("index", duration);
+        step.tag("index.size", String.valueOf(index.size()));
+        step.end();
+        return index;
+    }
+
+    private StartupStep startStep(String name) {
+        StartupStep step = applicationStartup.start(name);
+        if (null != processor) {
+            step.tag("processor", processor);
+        }
+        return step;
     }
 
     protected void resolveSecretResources() {
-        for (Map.Entry<String, String> entry : propertyIndexSupplier.get().entrySet()) {
-            String propertyName = entry.getKey();
-            String location = entry.getValue();
-            resolver.loadContent(location)
-                .ifPresent(acceptAndLog(putTo(propertyName), log::info, "Use secret value to set [%s]",
-                    propertyValue -> propertyName));
+        Map<String, String> index = createIndex();
+        StartupStep step = startStep("secrets.resolve");
+        int resolvedCount = source.size();
+        bytesRead = 0;
+        long start = System.nanoTime();
+        try {
+            resolveSecretResources(index);
+        } finally {
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            metrics.recordLoad(duration);
+            report.recordPhase("resolve", duration);
+            step.tag("index.size", String.valueOf(index.size()));
+            step.tag("resolved.count", String.valueOf(source.size() - resolvedCount));
+            step.tag("bytes.read", String.valueOf(bytesRead));
+            step.end();
         }
     }
 
+    private void resolveSecretResources(Map<String, String> index) {
+        int parallelism = getParallelism(index.size());
+        if (null != timeout || null != deadline) {
+            resolveWithTimeout(index, Math.max(parallelism, 1));
+            return;
+        }
+        if (parallelism > 1) {
+            resolveConcurrently(index, parallelism);
+            return;
+        }
+
+        resolveInBatch(index);
+    }
+
+    /**
+     * Loads the text secrets with a single {@link SecretResolver#loadAll(java.util.Collection) batch} of the resolver,
+     * so that resolvers of remote stores can fetch them with as few requests as possible. Secrets of any other
+     * content policy are loaded one after another.
+     */
+    private void resolveInBatch(Map<String, String> index) {
+        Map<String, SecretContentPolicy> policies = new HashMap<>();
+        Set<String> locations = new LinkedHashSet<>();
+        index.forEach((propertyName, location) -> {
+            SecretContentPolicy policy = getContentPolicy(propertyName, location);
+            policies.put(propertyName, policy);
+            if (SecretContentPolicy.TEXT == policy) {
+                locations.add(location);
+            }
+        });
+
+        Map<String, Optional<String>> contents = loadAll(locations);
+        index.forEach((propertyName, location) -> {
+            SecretContentPolicy policy = policies.get(propertyName);
+            if (SecretContentPolicy.TEXT != policy) {
+                apply(propertyName, load(propertyName, location, policy));
+                return;
+            }
+
+            Optional<String> content = Objects.requireNonNullElse(contents.get(location), Optional.empty());
+            if (content.isEmpty()) {
+                checkEmpty(location, policy);
+            }
+            apply(propertyName, new LoadResult(location, content, null, false));
+        });
+    }
+
+    private Map<String, Optional<String>> loadAll(Set<String> locations) {
+        if (locations.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            return resolver.loadAll(locations);
+        } catch (RuntimeException e) {
+            metrics.recordOutcome(SecretsMetrics.Outcome.FAILED);
+            throw e;
+        }
+    }
+
+    private int getParallelism(int indexSize) {
+        if (!environment.getProperty(PARALLEL_PROPERTY, Boolean.class, false)) {
+            return 1;
+        }
+
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        int parallelism = environment.getProperty(PARALLELISM_PROPERTY, Integer.class, availableProcessors);
+        Assert.isTrue(parallelism > 0, "Parallelism must be greater than zero");
+        return Math.min(parallelism, indexSize);
+    }
+
+    private void resolveConcurrently(Map<String, String> index, int parallelism) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("secrets-loader-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+        try {
+            Map<String, Future<LoadResult>> futures = new LinkedHashMap<>();
+            index.forEach((propertyName, location) ->
+                futures.put(propertyName, executor.submit(() -> load(propertyName, location))));
+            futures.forEach((propertyName, future) -> apply(propertyName, await(future)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void resolveWithTimeout(Map<String, String> index, int parallelism) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("secrets-loader-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newCachedThreadPool(threadFactory);
+        Semaphore permits = new Semaphore(parallelism);
+        try {
+            Map<String, PendingLoad> pendingLoads = new LinkedHashMap<>();
+            index.forEach((propertyName, location) ->
+                pendingLoads.put(propertyName, submit(executor, permits, propertyName, location)));
+            pendingLoads.forEach((propertyName, pendingLoad) -> apply(propertyName,
+                awaitOrHandleTimeout(propertyName, pendingLoad, getRemainingTime())));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts loading the given location as soon as a permit is available. A permit is returned once loading completes
+     * or times out, so that a hung read doesn't hold up the remaining locations.
+     */
+    private PendingLoad submit(Executor executor, Semaphore permits, String propertyName, String location) {
+        CompletableFuture<LoadResult> future = new CompletableFuture<>();
+        long start = System.nanoTime();
+        if (!acquireWithinDeadline(permits)) {
+            future.completeExceptionally(new TimeoutException());
+            return new PendingLoad(location, start, future);
+        }
+
+        future.whenComplete((content, e) -> permits.release());
+        executor.execute(() -> {
+            if (null != timeout) {
+                future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            try {
+                future.complete(load(propertyName, location));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return new PendingLoad(location, start, future);
+    }
+
+    private boolean acquireWithinDeadline(Semaphore permits) {
+        try {
+            if (null == deadline) {
+                permits.acquire();
+                return true;
+            }
+            return permits.tryAcquire(getRemainingTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading secrets", e);
+        }
+    }
+
+    private long getRemainingTime() {
+        return null == deadline ? Long.MAX_VALUE : Math.max(0, startTime + deadline.toNanos() - System.nanoTime());
+    }
+
+    private LoadResult awaitOrHandleTimeout(String propertyName, PendingLoad pendingLoad, long nanos) {
+        try {
+            return pendingLoad.future().get(nanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return handleTimeout(propertyName, pendingLoad);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return handleTimeout(propertyName, pendingLoad);
+            }
+            return rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading secrets", e);
+        }
+    }
+
+    @SneakyThrows
+    private static <T> T rethrow(Throwable throwable) {
+        throw throwable;
+    }
+
+    private LoadResult handleTimeout(String propertyName, PendingLoad pendingLoad) {
+        pendingLoad.future().cancel(true);
+        Duration waited = Duration.ofNanos(System.nanoTime() - pendingLoad.start());
+        SecretTimeoutPolicy policy = getTimeoutPolicy(propertyName);
+        report.recordTimeout(propertyName, pendingLoad.location(), waited, policy);
+        log.warn(LogMessage.format("Loading secret value to set [%s] timed out after %s, applying %s", propertyName,
+            waited, policy));
+        Optional<String> content = switch (policy) {
+            case FAIL -> throw new IllegalStateException("Loading secret value to set [" + propertyName
+                + "] timed out after " + waited);
+            case SKIP -> Optional.empty();
+            case FALLBACK -> Optional.ofNullable(environment.getProperty(TIMEOUT_FALLBACK_PROPERTY_PREFIX
+                + propertyName));
+        };
+        return new LoadResult(pendingLoad.location(), content, waited, true);
+    }
+
+    private SecretTimeoutPolicy getTimeoutPolicy(String propertyName) {
+        SecretTimeoutPolicy defaultPolicy = parseTimeoutPolicy(TIMEOUT_POLICY_PROPERTY, SecretTimeoutPolicy.FAIL);
+        return parseTimeoutPolicy(TIMEOUT_POLICY_PROPERTY_PREFIX + propertyName, defaultPolicy);
+    }
+
+    private SecretTimeoutPolicy parseTimeoutPolicy(String property, SecretTimeoutPolicy defaultPolicy) {
+        String value = environment.getProperty(property);
+        if (!StringUtils.hasText(value)) {
+            return defaultPolicy;
+        }
+
+        return SecretTimeoutPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private LoadResult load(String propertyName, String location) {
+        return load(propertyName, location, getContentPolicy(propertyName, location));
+    }
+
+    private LoadResult load(String propertyName, String location, SecretContentPolicy policy) {
+        long start = System.nanoTime();
+        try {
+            Optional<String> content = loadContent(location, policy);
+            if (content.isEmpty()) {
+                checkEmpty(location, policy);
+            }
+            return new LoadResult(location, content, Duration.ofNanos(System.nanoTime() - start), false);
+        } catch (RuntimeException e) {
+            metrics.recordOutcome(SecretsMetrics.Outcome.FAILED);
+            throw e;
+        }
+    }
+
+    /**
+     * Remembers the given location as empty if it exists, so that it is counted as such instead of missing. This runs
+     * on the loading thread, since determining the content length may block just like loading.
+     */
+    private void checkEmpty(String location, SecretContentPolicy policy) {
+        boolean read = SecretContentPolicy.TEXT == policy || SecretContentPolicy.BASE64 == policy;
+        if (read && resolver.getContentLength(location).isPresent()) {
+            emptyLocations.add(location);
+        }
+    }
+
+    private Optional<String> loadContent(String location, SecretContentPolicy policy) {
+        return switch (policy) {
+            case TEXT -> resolver.loadContent(location);
+            case BASE64 -> resolver.loadBytes(location)
+                .filter(bytes -> bytes.length > 0)
+                .map(Base64.getEncoder()::encodeToString);
+            case LOCATION -> Optional.of(location);
+            case SKIP -> Optional.empty();
+        };
+    }
+
+    private SecretContentPolicy getContentPolicy(String propertyName, String location) {
+        SecretContentPolicy policy = environment.getProperty(CONTENT_POLICY_PROPERTY_PREFIX + propertyName,
+            SecretContentPolicy.class, SecretContentPolicy.TEXT);
+        if (null == maxSize || SecretContentPolicy.LOCATION == policy || SecretContentPolicy.SKIP == policy) {
+            return policy;
+        }
+
+        OptionalLong contentLength = resolver.getContentLength(location);
+        if (contentLength.isPresent() && contentLength.getAsLong() > maxSize.toBytes()) {
+            log.warn(LogMessage.format("Secret value to set [%s] exceeds %s, applying %s", propertyName, maxSize,
+                oversizedPolicy));
+            return oversizedPolicy;
+        }
+        return policy;
+    }
+
+    private Optional<String> loadDeferred(String propertyName, String location) {
+        long start = System.nanoTime();
+        LoadResult result = null == timeout ? load(propertyName, location) : loadWithTimeout(propertyName, location);
+        Optional<String> content = resolve(propertyName, result);
+        metrics.recordAccess(Duration.ofNanos(System.nanoTime() - start));
+        record(location, content);
+        return content;
+    }
+
+    private LoadResult loadWithTimeout(String propertyName, String location) {
+        CompletableFuture<LoadResult> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(load(propertyName, location));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, "secrets-loader-" + propertyName);
+        thread.setDaemon(true);
+        thread.start();
+        PendingLoad pendingLoad = new PendingLoad(location, System.nanoTime(),
+            future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS));
+        return awaitOrHandleTimeout(propertyName, pendingLoad, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the content of the indexed location, or of the first fallback location that has content. Fallback
+     * locations are not loaded if the indexed location timed out, since its content is unknown and the timeout policy
+     * has already been applied. Only the location that supplied the value is reported.
+     */
+    private Optional<String> resolve(String propertyName, LoadResult indexedResult) {
+        if (indexedResult.timedOut()) {
+            return indexedResult.content();
+        }
+
+        LoadResult result = indexedResult.content().isPresent() ? indexedResult : loadFallback(propertyName)
+            .orElse(indexedResult);
+        report.recordEntry(propertyName, result.location(), result.content(), result.duration());
+        return result.content();
+    }
+
+    private Optional<LoadResult> loadFallback(String propertyName) {
+        for (String location : fallbackLocations.apply(propertyName)) {
+            LoadResult result = load(propertyName, location);
+            if (result.content().isPresent()) {
+                log.debug(LogMessage.format("Fall back to location [%s] to set [%s]", location, propertyName));
+                return Optional.of(result);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void apply(String propertyName, LoadResult indexedResult) {
+        Optional<String> content = resolve(propertyName, indexedResult);
+        bytesRead += record(indexedResult.location(), content);
+        content.ifPresent(acceptAndLog(putTo(propertyName), log::info, "Use secret value to set [%s]",
+            propertyValue -> propertyName));
+    }
+
+    private long record(String location, Optional<String> content) {
+        if (content.isEmpty()) {
+            metrics.recordOutcome(emptyLocations.contains(location) ? SecretsMetrics.Outcome.EMPTY
+                : SecretsMetrics.Outcome.MISSING);
+            return 0;
+        }
+
+        long size = utf8Length(content.get());
+        metrics.recordOutcome(SecretsMetrics.Outcome.RESOLVED);
+        metrics.recordSize(size);
+        return size;
+    }
+
     private Consumer<Object> putTo(String systemProperty) {
         return secretValue -> source.put(systemProperty, secretValue);
     }
+
+    private record PendingLoad(String location, long start, CompletableFuture<LoadResult> future) {
+    }
+
+    /**
+     * The content of a single location and the time it took to load it, or to give up on it.
+     */
+    private record LoadResult(String location, Optional<String> content, @Nullable Duration duration,
+                              boolean timedOut) {
+    }
 }
@@ -1,6 +1,7 @@
 package de.vinado.boot.secrets;
 
 import org.apache.commons.logging.Log;
+import org.springframework.boot.ConfigurableBootstrapContext;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
 import org.springframework.boot.env.EnvironmentPostProcessor;
@@ -9,6 +10,9 @@ import org.springframework.core.Ordered;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
 
 /**
  * <p>
@@ -18,6 +22,14 @@ import org.springframework.core.io.ResourceLoader;
  * This component implements {@link Ordered} to draw attention to the fact, that {@link SecretsEnvironmentPostProcessor}
  * must be executed after {@link ConfigDataEnvironmentPostProcessor} in order to override configuration properties. I'd
  * recommend to set the value to {@code ConfigDataEnvironmentPostProcessor.ORDER + n}.
+ * </p><p>
+ * Post-processing is recorded as <em>secrets.post-process</em> {@link StartupStep} of the application's
+ * {@link ApplicationStartup}, tagged with the processor class. The steps of the {@link SecretsEnvironment} are recorded
+ * as its children.
+ * </p><p>
+ * Measurements are recorded with the {@link SecretsMetrics} shared through the {@link ConfigurableBootstrapContext},
+ * tagged with the processor class. Spring Boot passes the bootstrap context to subclasses that declare a constructor
+ * accepting it. The source of every secret is recorded with the {@link SecretsReport} shared the same way.
  * </p>
  *
  * @author Vincent Nadoll
@@ -26,21 +38,60 @@ public abstract class SecretsEnvironmentPostProcessor implements EnvironmentPost
 
     private final Log log;
     private final DeferredLogFactory logFactory;
+    @Nullable
+    private final ConfigurableBootstrapContext bootstrapContext;
 
     public SecretsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this(logFactory, null);
+    }
+
+    public SecretsEnvironmentPostProcessor(DeferredLogFactory logFactory,
+                                           @Nullable ConfigurableBootstrapContext bootstrapContext) {
         this.logFactory = logFactory;
+        this.bootstrapContext = bootstrapContext;
         this.log = logFactory.getLog(getClass());
     }
 
     @Override
     public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
         ResourceLoader resourceLoader = application.getResourceLoader();
-        postProcessEnvironment(environment, null == resourceLoader ? new DefaultResourceLoader() : resourceLoader);
+        postProcessEnvironment(environment, null == resourceLoader ? new DefaultResourceLoader() : resourceLoader,
+            application.getApplicationStartup());
     }
 
     void postProcessEnvironment(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
+        postProcessEnvironment(environment, resourceLoader, ApplicationStartup.DEFAULT);
+    }
+
+    void postProcessEnvironment(ConfigurableEnvironment environment, ResourceLoader resourceLoader,
+                                ApplicationStartup applicationStartup) {
         log.trace("Post-processing environment to add secrets");
-        createSecretsEnvironment(environment, resourceLoader).processAndApply();
+        StartupStep step = applicationStartup.start("secrets.post-process");
+        step.tag("processor", getClass().getName());
+        try {
+            SecretsEnvironment secretsEnvironment = createSecretsEnvironment(environment, resourceLoader);
+            secretsEnvironment.setApplicationStartup(applicationStartup);
+            secretsEnvironment.setProcessor(getClass().getName());
+            secretsEnvironment.setMetrics(getMetrics());
+            secretsEnvironment.setReport(SecretsReport.get(bootstrapContext).withProcessor(getClass().getName()));
+            secretsEnvironment.processAndApply();
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Returns the bootstrap context of the application, if Spring Boot passed one to the constructor.
+     *
+     * @return the bootstrap context; may be {@literal null}
+     */
+    @Nullable
+    protected ConfigurableBootstrapContext getBootstrapContext() {
+        return bootstrapContext;
+    }
+
+    private SecretsMetrics getMetrics() {
+        return SecretsMetrics.get(bootstrapContext).withTag("processor", getClass().getName());
     }
 
     /**
@@ -52,20 +103,43 @@ public abstract class SecretsEnvironmentPostProcessor implements EnvironmentPost
      */
     protected SecretsEnvironment createSecretsEnvironment(ConfigurableEnvironment environment,
                                                           ResourceLoader resourceLoader) {
-        SecretResolver secretResolver = getSecretResolver(resourceLoader);
+        SecretResolver secretResolver = getSecretResolver(resourceLoader, environment);
         PropertyIndexSupplier indexSupplier = getPropertyIndexSupplier(environment);
         return new SecretsEnvironment(logFactory, environment, secretResolver, indexSupplier);
     }
 
     /**
-     * Creates a new instance of a {@link SecretResolver}.
+     * Creates a new instance of a {@link SecretResolver}. The default implementation reads <em>file:</em> URIs straight
+     * from the file system and loads any other location using the given {@link ResourceLoader}. Contents are cached in
+     * the {@link SecretContentCache} shared by all post-processors, so that each location is read at most once per
+     * start.
      *
      * @param resourceLoader Spring's {@link ResourceLoader} creating {@link org.springframework.core.io.Resource}s;
      *                       never {@literal null}
      * @return a new instance of a {@link SecretResolver}
      */
     protected SecretResolver getSecretResolver(ResourceLoader resourceLoader) {
-        return new DefaultSecretResolver(resourceLoader);
+        SecretResolver resolver = new FileSecretResolver(new DefaultSecretResolver(resourceLoader));
+        return new CachingSecretResolver(resolver, SecretContentCache.get(bootstrapContext));
+    }
+
+    /**
+     * Creates a new instance of a {@link SecretResolver} configured by the given environment. The default
+     * implementation decorates {@link #getSecretResolver(ResourceLoader)} with a {@link HttpSecretResolver} if
+     * <em>secrets.vault.uri</em> is set and with a {@link CommandSecretResolver} if <em>secrets.exec.enabled</em> is
+     * {@literal true}. If <em>secrets.encryption.key-location</em> is set, secrets of any location are decrypted with
+     * a {@link DecryptingSecretResolver}.
+     *
+     * @param resourceLoader Spring's {@link ResourceLoader} creating {@link org.springframework.core.io.Resource}s;
+     *                       never {@literal null}
+     * @param environment    the current {@link ConfigurableEnvironment}; never {@literal null}
+     * @return a new instance of a {@link SecretResolver}
+     */
+    protected SecretResolver getSecretResolver(ResourceLoader resourceLoader, ConfigurableEnvironment environment) {
+        SecretResolver resolver = getSecretResolver(resourceLoader);
+        resolver = CommandSecretResolver.of(environment, resolver);
+        resolver = HttpSecretResolver.of(environment, resolver);
+        return DecryptingSecretResolver.of(environment, resolver);
     }
 
     /**
@@ -0,0 +1,261 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.BootstrapRegistry;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * A recorder of measurements taken while loading secrets. Environment post-processors run before any meter registry
+ * exists, so measurements are aggregated per meter and tags: the count and total of every timer, counter and size
+ * summary, and the maximum size. Every aggregate is handed to the consumers that subscribe, including aggregates
+ * created later on, which then read its values whenever they are published. Nothing is dropped, however many secrets
+ * are loaded.
+ * </p><p>
+ * {@link #get(ConfigurableBootstrapContext)} shares one instance among all post-processors of an application. Once
+ * the bootstrap context is closed, that instance is registered as bean of the application context. If Micrometer is
+ * present, a {@link SecretsMetricsBinder} is registered as well, which Spring Boot's actuator binds to every meter
+ * registry.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class SecretsMetrics {
+
+    public static final String BEAN_NAME = "secretsMetrics";
+    public static final String BINDER_BEAN_NAME = "secretsMetricsBinder";
+
+    private static final String METER_BINDER_CLASS = "io.micrometer.core.instrument.binder.MeterBinder";
+
+    private final Aggregates aggregates;
+    private final List<String> tags;
+
+    public SecretsMetrics() {
+        this(new Aggregates(), List.of());
+    }
+
+    private SecretsMetrics(Aggregates aggregates, List<String> tags) {
+        this.aggregates = aggregates;
+        this.tags = tags;
+    }
+
+    /**
+     * Returns the instance shared by all post-processors of the current application. A new, unshared instance is
+     * returned if no bootstrap context is available.
+     *
+     * @param bootstrapContext the application's bootstrap context; may be {@literal null}
+     * @return the shared recorder; never {@literal null}
+     */
+    public static SecretsMetrics get(@Nullable ConfigurableBootstrapContext bootstrapContext) {
+        if (null == bootstrapContext) {
+            return new SecretsMetrics();
+        }
+
+        if (!bootstrapContext.isRegistered(SecretsMetrics.class)) {
+            SecretsMetrics metrics = new SecretsMetrics();
+            bootstrapContext.register(SecretsMetrics.class, BootstrapRegistry.InstanceSupplier.of(metrics));
+            bootstrapContext.addCloseListener(event -> registerBeans(event.getApplicationContext(), metrics));
+        }
+        return bootstrapContext.get(SecretsMetrics.class);
+    }
+
+    private static void registerBeans(ConfigurableApplicationContext applicationContext, SecretsMetrics metrics) {
+        applicationContext.getBeanFactory().registerSingleton(BEAN_NAME, metrics);
+        if (ClassUtils.isPresent(METER_BINDER_CLASS, SecretsMetrics.class.getClassLoader())) {
+            applicationContext.getBeanFactory().registerSingleton(BINDER_BEAN_NAME, new SecretsMetricsBinder(metrics));
+        }
+    }
+
+    /**
+     * Returns a view of this recorder that adds the given tag to every measurement.
+     *
+     * @param key   the tag's key; must not be {@literal null}
+     * @param value the tag's value; must not be {@literal null}
+     * @return a recorder sharing the aggregates of this one; never {@literal null}
+     */
+    public SecretsMetrics withTag(String key, String value) {
+        Assert.notNull(key, "Key must not be null");
+        Assert.notNull(value, "Value must not be null");
+
+        List<String> extendedTags = new ArrayList<>(tags);
+        extendedTags.add(key);
+        extendedTags.add(value);
+        return new SecretsMetrics(aggregates, List.copyOf(extendedTags));
+    }
+
+    /**
+     * Records the time it took to build a property index.
+     *
+     * @param duration the elapsed time; must not be {@literal null}
+     */
+    public void recordIndex(Duration duration) {
+        record(Type.TIMER, "secrets.index", duration.toNanos());
+    }
+
+    /**
+     * Records the time it took to load the contents of a property index.
+     *
+     * @param duration the elapsed time; must not be {@literal null}
+     */
+    public void recordLoad(Duration duration) {
+        record(Type.TIMER, "secrets.load", duration.toNanos());
+    }
+
+    /**
+     * Records the time it took to load a deferred secret on first access.
+     *
+     * @param duration the elapsed time; must not be {@literal null}
+     */
+    public void recordAccess(Duration duration) {
+        record(Type.TIMER, "secrets.access", duration.toNanos());
+    }
+
+    /**
+     * Records the time it took to reload changed secrets.
+     *
+     * @param duration the elapsed time; must not be {@literal null}
+     */
+    public void recordReload(Duration duration) {
+        record(Type.TIMER, "secrets.reload", duration.toNanos());
+    }
+
+    /**
+     * Records the outcome of loading a single location.
+     *
+     * @param outcome the outcome; must not be {@literal null}
+     */
+    public void recordOutcome(Outcome outcome) {
+        record(Type.COUNTER, "secrets.locations", 1, "outcome", outcome.getTagValue());
+    }
+
+    /**
+     * Records the size of a loaded secret.
+     *
+     * @param bytes the number of UTF-8 encoded bytes
+     */
+    public void recordSize(long bytes) {
+        record(Type.SUMMARY, "secrets.size", bytes);
+    }
+
+    private void record(Type type, String name, double amount, String... additionalTags) {
+        List<String> meterTags = tags;
+        if (additionalTags.length > 0) {
+            meterTags = new ArrayList<>(tags);
+            meterTags.addAll(List.of(additionalTags));
+        }
+        aggregates.get(type, name, meterTags).record(amount);
+    }
+
+    /**
+     * Subscribes the given consumer. It is handed every existing aggregate and every aggregate created later on.
+     *
+     * @param consumer the consumer of aggregates; must not be {@literal null}
+     */
+    void subscribe(Consumer<Aggregate> consumer) {
+        Assert.notNull(consumer, "Consumer must not be null");
+        aggregates.subscribe(consumer);
+    }
+
+    /**
+     * The outcome of loading a single location. A location is {@link #EMPTY} if it exists, but has no content, and
+     * {@link #MISSING} if it doesn't exist, or if the resolver is unable to tell without loading it.
+     */
+    public enum Outcome {
+        RESOLVED, EMPTY, MISSING, FAILED;
+
+        String getTagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    enum Type {
+        TIMER, COUNTER, SUMMARY
+    }
+
+    /**
+     * The aggregated measurements of a single meter. Tags are stored as alternating keys and values.
+     */
+    static final class Aggregate {
+
+        private final Type type;
+        private final String name;
+        private final List<String> tags;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder total = new DoubleAdder();
+        private final DoubleAccumulator max = new DoubleAccumulator(Math::max, 0);
+
+        private Aggregate(Type type, String name, List<String> tags) {
+            this.type = type;
+            this.name = name;
+            this.tags = tags;
+        }
+
+        private void record(double amount) {
+            count.increment();
+            total.add(amount);
+            max.accumulate(amount);
+        }
+
+        Type type() {
+            return type;
+        }
+
+        String name() {
+            return name;
+        }
+
+        List<String> tags() {
+            return tags;
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double total() {
+            return total.sum();
+        }
+
+        double max() {
+            return max.get();
+        }
+    }
+
+    private static class Aggregates {
+
+        private final Map<List<Object>, Aggregate> aggregates = new LinkedHashMap<>();
+        private final List<Consumer<Aggregate>> consumers = new ArrayList<>();
+
+        synchronized Aggregate get(Type type, String name, List<String> tags) {
+            List<Object> key = List.of(type, name, tags);
+            Aggregate existing = aggregates.get(key);
+            if (null != existing) {
+                return existing;
+            }
+
+            Aggregate aggregate = new Aggregate(type, name, List.copyOf(tags));
+            aggregates.put(key, aggregate);
+            consumers.forEach(consumer -> consumer.accept(aggregate));
+            return aggregate;
+        }
+
+        synchronized void subscribe(Consumer<Aggregate> consumer) {
+            aggregates.values().forEach(consumer);
+            consumers.add(consumer);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package de.vinado.boot.secrets;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MeterBinder} that registers the measurements aggregated by {@link SecretsMetrics} with a
+ * {@link MeterRegistry}. Timers are registered as {@link FunctionTimer}s and location outcomes as
+ * {@link FunctionCounter}s. Sizes are registered as {@link FunctionCounter} of the total bytes and {@link Gauge} of
+ * the largest secret, suffixed with <em>.max</em>. The meters read the aggregates whenever they are published, so
+ * measurements taken after binding are included as well.
+ *
+ * @author Vincent Nadoll
+ */
+public class SecretsMetricsBinder implements MeterBinder {
+
+    private final SecretsMetrics metrics;
+
+    public SecretsMetricsBinder(SecretsMetrics metrics) {
+        Assert.notNull(metrics, "Metrics must not be null");
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.subscribe(aggregate -> register(registry, aggregate));
+    }
+
+    private static void register(MeterRegistry registry, SecretsMetrics.Aggregate aggregate) {
+        String[] tags = aggregate.tags().toArray(String[]::new);
+        switch (aggregate.type()) {
+            case TIMER -> FunctionTimer.builder(aggregate.name(), aggregate, SecretsMetrics.Aggregate::count,
+                    SecretsMetrics.Aggregate::total, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(registry);
+            case COUNTER -> FunctionCounter.builder(aggregate.name(), aggregate, SecretsMetrics.Aggregate::count)
+                .tags(tags)
+                .register(registry);
+            case SUMMARY -> {
+                FunctionCounter.builder(aggregate.name(), aggregate, SecretsMetrics.Aggregate::total)
+                    .baseUnit(BaseUnits.BYTES)
+                    .tags(tags)
+                    .register(registry);
+                Gauge.builder(aggregate.name() + ".max", aggregate, SecretsMetrics.Aggregate::max)
+                    .baseUnit(BaseUnits.BYTES)
+                    .tags(tags)
+                    .register(registry);
+            }
+            default -> throw new IllegalStateException("Unknown meter type " + aggregate.type());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.BootstrapRegistry;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>
+ * A record of where the secret properties of an application come from. For every property in
+ * <em>secretProperties</em>, it keeps the post-processor and location that supplied the value, the locations it
+ * overrode, the size of the value and how long loading took, if known. The durations of all loading phases and every
+ * location that could not be loaded in time are kept as well. Secret values themselves are never kept.
+ * </p><p>
+ * {@link #get(ConfigurableBootstrapContext)} shares one instance among all post-processors of an application. Once
+ * the bootstrap context is closed, that instance is registered as bean of the application context. If Spring Boot's
+ * actuator is present, a {@link SecretsEndpoint} is registered as well.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class SecretsReport {
+
+    public static final String BEAN_NAME = "secretsReport";
+    public static final String ENDPOINT_BEAN_NAME = "secretsEndpoint";
+
+    private static final String ENDPOINT_CLASS = "org.springframework.boot.actuate.endpoint.annotation.Endpoint";
+
+    private final Store store;
+    @Nullable
+    private final String processor;
+
+    public SecretsReport() {
+        this(new Store(), null);
+    }
+
+    private SecretsReport(Store store, @Nullable String processor) {
+        this.store = store;
+        this.processor = processor;
+    }
+
+    /**
+     * Returns the instance shared by all post-processors of the current application. A new, unshared instance is
+     * returned if no bootstrap context is available.
+     *
+     * @param bootstrapContext the application's bootstrap context; may be {@literal null}
+     * @return the shared report; never {@literal null}
+     */
+    public static SecretsReport get(@Nullable ConfigurableBootstrapContext bootstrapContext) {
+        if (null == bootstrapContext) {
+            return new SecretsReport();
+        }
+
+        if (!bootstrapContext.isRegistered(SecretsReport.class)) {
+            SecretsReport report = new SecretsReport();
+            bootstrapContext.register(SecretsReport.class, BootstrapRegistry.InstanceSupplier.of(report));
+            bootstrapContext.addCloseListener(event -> registerBeans(event.getApplicationContext(), report));
+        }
+        return bootstrapContext.get(SecretsReport.class);
+    }
+
+    private static void registerBeans(ConfigurableApplicationContext applicationContext, SecretsReport report) {
+        applicationContext.getBeanFactory().registerSingleton(BEAN_NAME, report);
+        if (ClassUtils.isPresent(ENDPOINT_CLASS, SecretsReport.class.getClassLoader())) {
+            applicationContext.getBeanFactory().registerSingleton(ENDPOINT_BEAN_NAME, new SecretsEndpoint(report));
+        }
+    }
+
+    /**
+     * Returns a view of this report that attributes every record to the given post-processor.
+     *
+     * @param processor the name of the post-processor; must not be {@literal null}
+     * @return a report sharing the records of this one; never {@literal null}
+     */
+    public SecretsReport withProcessor(String processor) {
+        Assert.notNull(processor, "Processor must not be null");
+        return new SecretsReport(store, processor);
+    }
+
+    /**
+     * Records the outcome of loading a single property. Properties without content are not recorded, since they are
+     * not added to <em>secretProperties</em>.
+     *
+     * @param propertyName the name of the property; must not be {@literal null}
+     * @param location     the location the property was loaded from; must not be {@literal null}
+     * @param content      the loaded content; must not be {@literal null}
+     * @param duration     the time it took to load the content; may be {@literal null} if unknown
+     */
+    public void recordEntry(String propertyName, String location, Optional<String> content,
+                            @Nullable Duration duration) {
+        Assert.notNull(propertyName, "Property name must not be null");
+        Assert.notNull(location, "Location must not be null");
+        content.ifPresent(value -> store.put(propertyName, processor, location,
+            Utils.utf8Length(value), duration));
+    }
+
+    /**
+     * Records the time a loading phase took, e.g. <em>index</em>, <em>resolve</em> or <em>merge</em>.
+     *
+     * @param name     the name of the phase; must not be {@literal null}
+     * @param duration the elapsed time; must not be {@literal null}
+     */
+    public void recordPhase(String name, Duration duration) {
+        Assert.notNull(name, "Name must not be null");
+        Assert.notNull(duration, "Duration must not be null");
+        store.add(new Phase(processor, name, duration));
+    }
+
+    /**
+     * Records a location that could not be loaded in time.
+     *
+     * @param propertyName the name of the property; must not be {@literal null}
+     * @param location     the location that timed out; must not be {@literal null}
+     * @param waited       the time spent waiting for the location; must not be {@literal null}
+     * @param policy       the policy that was applied; must not be {@literal null}
+     */
+    public void recordTimeout(String propertyName, String location, Duration waited, SecretTimeoutPolicy policy) {
+        Assert.notNull(propertyName, "Property name must not be null");
+        Assert.notNull(location, "Location must not be null");
+        Assert.notNull(waited, "Waited duration must not be null");
+        Assert.notNull(policy, "Policy must not be null");
+        store.add(new Timeout(propertyName, processor, location, waited, policy));
+    }
+
+    /**
+     * Returns the properties in the order they were first recorded.
+     *
+     * @return the effective entry of every property; never {@literal null}
+     */
+    public List<Entry> getEntries() {
+        return store.getEntries();
+    }
+
+    /**
+     * Returns the loading phases in the order they were recorded.
+     *
+     * @return all phases; never {@literal null}
+     */
+    public List<Phase> getPhases() {
+        return store.getPhases();
+    }
+
+    /**
+     * Returns the locations that could not be loaded in time, in the order they were recorded.
+     *
+     * @return all timeouts; never {@literal null}
+     */
+    public List<Timeout> getTimeouts() {
+        return store.getTimeouts();
+    }
+
+    /**
+     * The effective source of a secret property.
+     *
+     * @param propertyName the name of the property
+     * @param processor    the post-processor that supplied the value; may be {@literal null}
+     * @param location     the location the value was loaded from
+     * @param size         the size of the value in UTF-8 encoded bytes
+     * @param duration     the time it took to load the value; {@literal null} if unknown
+     * @param overrides    the sources whose values were replaced, oldest first
+     */
+    public record Entry(String propertyName, @Nullable String processor, String location, long size,
+                        @Nullable Duration duration, List<Source> overrides) {
+    }
+
+    /**
+     * A source whose value was replaced by another post-processor.
+     *
+     * @param processor the post-processor that supplied the value; may be {@literal null}
+     * @param location  the location the value was loaded from
+     */
+    public record Source(@Nullable String processor, String location) {
+    }
+
+    /**
+     * The duration of a loading phase.
+     *
+     * @param processor the post-processor that ran the phase; may be {@literal null}
+     * @param name      the name of the phase
+     * @param duration  the elapsed time
+     */
+    public record Phase(@Nullable String processor, String name, Duration duration) {
+    }
+
+    /**
+     * A location that could not be loaded in time.
+     *
+     * @param propertyName the name of the property
+     * @param processor    the post-processor that loaded the location; may be {@literal null}
+     * @param location     the location that timed out
+     * @param waited       the time spent waiting for the location
+     * @param policy       the policy that was applied
+     */
+    public record Timeout(String propertyName, @Nullable String processor, String location, Duration waited,
+                          SecretTimeoutPolicy policy) {
+    }
+
+    private static class Store {
+
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private final List<Phase> phases = new ArrayList<>();
+        private final List<Timeout> timeouts = new ArrayList<>();
+
+        synchronized void put(String propertyName, @Nullable String processor, String location, long size,
+                              @Nullable Duration duration) {
+            List<Source> overrides = new ArrayList<>();
+            Entry previous = entries.get(propertyName);
+            if (null != previous) {
+                overrides.addAll(previous.overrides());
+                overrides.add(new Source(previous.processor(), previous.location()));
+            }
+            entries.put(propertyName, new Entry(propertyName, processor, location, size, duration,
+                List.copyOf(overrides)));
+        }
+
+        synchronized void add(Phase phase) {
+            phases.add(phase);
+        }
+
+        synchronized void add(Timeout timeout) {
+            timeouts.add(timeout);
+        }
+
+        synchronized List<Entry> getEntries() {
+            return List.copyOf(entries.values());
+        }
+
+        synchronized List<Phase> getPhases() {
+            return List.copyOf(phases);
+        }
+
+        synchronized List<Timeout> getTimeouts() {
+            return List.copyOf(timeouts);
+        }
+    }
+}
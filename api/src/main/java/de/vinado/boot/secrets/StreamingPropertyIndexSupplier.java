@@ -0,0 +1,45 @@
+package de.vinado.boot.secrets;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * A {@link PropertyIndexSupplier} passing its entries on as they are produced instead of collecting them into a map
+ * first. Consumers like {@link CompositePropertyIndexSupplier} and
+ * {@link PropertyIndexSupplier#substituteValues(org.springframework.core.env.PropertyResolver) substituting} suppliers
+ * visit the entries of their sources directly, so that a chain of suppliers materializes a single map at most.
+ * </p><p>
+ * {@link #get()} adapts this supplier to the {@link java.util.function.Supplier} style by collecting the entries into
+ * a new map. Duplicate property names are rejected like {@link java.util.stream.Collectors#toMap} does.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@FunctionalInterface
+public interface StreamingPropertyIndexSupplier extends PropertyIndexSupplier {
+
+    /**
+     * Passes every entry of the index to the given action, one property name after another.
+     *
+     * @param action the consumer of property name and location; must not be {@literal null}
+     */
+    @Override
+    void forEach(BiConsumer<String, String> action);
+
+    /**
+     * Collects the entries of this supplier into a new map.
+     *
+     * @return a new map of property names and locations; never {@literal null}
+     * @throws IllegalStateException if a property name is passed more than once
+     */
+    @Override
+    default Map<String, String> get() throws IllegalStateException {
+        Map<String, String> index = new HashMap<>();
+        forEach((propertyName, location) -> index.merge(propertyName, location, (u, v) -> {
+            throw new IllegalStateException("Duplicate key " + propertyName);
+        }));
+        return index;
+    }
+}
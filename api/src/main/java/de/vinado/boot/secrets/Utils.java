@@ -1,9 +1,24 @@
 package de.vinado.boot.secrets;
 
+import lombok.SneakyThrows;
 import org.springframework.core.log.LogMessage;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -80,4 +95,96 @@ final class Utils {
         entry.setValue(newValue);
         return entry;
     }
+
+    /**
+     * Creates a pool of daemon threads that terminate after being idle for a second, so that the pool doesn't have to
+     * be shut down explicitly.
+     *
+     * @param threadNamePrefix the prefix of the thread names
+     * @param threads          the maximum number of threads
+     * @return a new executor
+     */
+    public static ExecutorService newDaemonExecutor(String threadNamePrefix, int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Counts the bytes of the UTF-8 encoding of the given characters without encoding them. Unpaired surrogates count
+     * as a single byte, like the replacement {@link String#getBytes(java.nio.charset.Charset)} encodes them with.
+     *
+     * @param value the characters to be measured
+     * @return the number of bytes
+     */
+    public static long utf8Length(CharSequence value) {
+        long length = 0;
+        int index = 0;
+        while (index < value.length()) {
+            char c = value.charAt(index++);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (!Character.isSurrogate(c)) {
+                length += 3;
+            } else if (Character.isHighSurrogate(c) && index < value.length()
+                && Character.isLowSurrogate(value.charAt(index))) {
+                length += 4;
+                index++;
+            } else {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    @SneakyThrows
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading secrets", e);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Loads the given locations for a resolver decorating a fallback. The locations accepted by the predicate are
+     * started with the given function before the remaining ones are passed on to the fallback in a single batch.
+     *
+     * @param locations the locations to load
+     * @param predicate accepts the locations handled by the decorator itself
+     * @param loader    starts loading a location handled by the decorator itself
+     * @param fallback  the resolver of all other locations
+     * @return the secret of every given location in iteration order
+     */
+    public static Map<String, Optional<String>> loadAll(Collection<String> locations, Predicate<String> predicate,
+                                                        Function<String, CompletableFuture<Optional<String>>> loader,
+                                                        SecretResolver fallback) {
+        Map<String, CompletableFuture<Optional<String>>> futures = new LinkedHashMap<>();
+        List<String> fallbackLocations = new ArrayList<>();
+        for (String location : locations) {
+            if (predicate.test(location)) {
+                futures.computeIfAbsent(location, loader);
+            } else {
+                fallbackLocations.add(location);
+            }
+        }
+
+        Map<String, Optional<String>> fallbackContents = fallbackLocations.isEmpty()
+            ? Map.of()
+            : fallback.loadAll(fallbackLocations);
+        Map<String, Optional<String>> contents = new LinkedHashMap<>();
+        for (String location : locations) {
+            CompletableFuture<Optional<String>> future = futures.get(location);
+            contents.put(location, null == future ? fallbackContents.get(location) : await(future));
+        }
+        return contents;
+    }
 }
@@ -0,0 +1,150 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.WINDOWS)
+class CommandSecretResolverTest {
+
+    @TempDir
+    Path directory;
+
+    private CommandSecretResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CommandSecretResolver(Optional::of);
+    }
+
+    @Test
+    void initializingNullArguments_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new CommandSecretResolver(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CommandSecretResolver(Optional::of, Duration.ZERO, DataSize.ofBytes(1), 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CommandSecretResolver(Optional::of, Duration.ofSeconds(1), DataSize.ofBytes(-1), 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CommandSecretResolver(Optional::of, Duration.ofSeconds(1), DataSize.ofBytes(1), 0));
+    }
+
+    @Test
+    void command_shouldResolveTrimmedOutput() {
+        assertEquals(Optional.of("password1234"), resolver.loadContent("exec:echo   password1234"));
+    }
+
+    @Test
+    void command_shouldResolveRawOutput() {
+        Optional<byte[]> output = resolver.loadBytes("exec:echo foo");
+
+        assertTrue(output.isPresent());
+        assertArrayEquals("foo\n".getBytes(StandardCharsets.UTF_8), output.get());
+    }
+
+    @Test
+    void emptyOutput_shouldNotResolve() {
+        assertFalse(resolver.loadContent("exec:true").isPresent());
+    }
+
+    @Test
+    void sameCommand_shouldRunOnce() throws IOException {
+        String location = "exec:mktemp " + directory.resolve("secret.XXXXXX");
+
+        Optional<String> first = resolver.loadContent(location);
+        Optional<String> second = resolver.loadContent(location);
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void nonZeroExitStatus_shouldThrowException() {
+        assertThrows(IllegalStateException.class, () -> resolver.loadContent("exec:false"));
+    }
+
+    @Test
+    void unknownCommand_shouldThrowException() {
+        assertThrows(IOException.class, () -> resolver.loadContent("exec:secrets-spring-boot-unknown-command"));
+    }
+
+    @Test
+    void slowCommand_shouldBeKilled() {
+        resolver = new CommandSecretResolver(Optional::of, Duration.ofMillis(100), DataSize.ofKilobytes(1), 1);
+
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> resolver.loadContent("exec:sleep 10"));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    @Test
+    void excessiveOutput_shouldThrowException() {
+        resolver = new CommandSecretResolver(Optional::of, Duration.ofSeconds(5), DataSize.ofBytes(16), 1);
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> resolver.loadContent("exec:yes"));
+
+        assertTrue(exception.getMessage().contains("exceeds"));
+    }
+
+    @Test
+    void commands_shouldRunConcurrently() {
+        resolver = new CommandSecretResolver(Optional::of, Duration.ofSeconds(5), DataSize.ofKilobytes(1), 4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Optional<String>>> futures = IntStream.range(0, 4)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> resolver.loadContent("exec:sleep 0.5" + i),
+                executor))
+            .toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(1800)) < 0);
+        executor.shutdown();
+    }
+
+    @Test
+    void otherScheme_shouldBeLoadedByFallback() {
+        assertEquals(Optional.of("classpath:foo"), resolver.loadContent("classpath:foo"));
+    }
+
+    @Test
+    void disabledCommands_shouldReturnFallback() {
+        SecretResolver fallback = Optional::of;
+        StandardEnvironment environment = new StandardEnvironment();
+
+        assertSame(fallback, CommandSecretResolver.of(environment, fallback));
+
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+            Map.of(CommandSecretResolver.ENABLED_PROPERTY, "true", CommandSecretResolver.TIMEOUT_PROPERTY, "5s")));
+        assertInstanceOf(CommandSecretResolver.class, CommandSecretResolver.of(environment, fallback));
+    }
+}
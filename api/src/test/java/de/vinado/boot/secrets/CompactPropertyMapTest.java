@@ -0,0 +1,72 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactPropertyMapTest {
+
+    @Test
+    void copy_shouldEqualSource() {
+        Map<String, Object> source = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put("spring.datasource.property" + i, "secret" + i);
+        }
+
+        CompactPropertyMap map = CompactPropertyMap.copyOf(source);
+
+        assertEquals(source, map);
+        assertEquals(source.hashCode(), map.hashCode());
+        source.forEach((name, value) -> assertEquals(value, map.get(new String(name.toCharArray()))));
+        assertArrayEquals(source.keySet().toArray(), map.getNames());
+    }
+
+    @Test
+    void absentNames_shouldNotBeContained() {
+        CompactPropertyMap map = CompactPropertyMap.copyOf(Map.of("foo", "bar"));
+
+        assertNull(map.get("baz"));
+        assertNull(map.get(null));
+        assertNull(map.get(42));
+        assertFalse(map.containsKey("baz"));
+        assertTrue(map.containsKey("foo"));
+    }
+
+    @Test
+    void collidingNames_shouldBeFound() {
+        // "Aa" and "BB" share the same hash code
+        CompactPropertyMap map = CompactPropertyMap.copyOf(Map.of("Aa", "first", "BB", "second"));
+
+        assertEquals("first", map.get("Aa"));
+        assertEquals("second", map.get("BB"));
+    }
+
+    @Test
+    void emptyMap_shouldBeEmpty() {
+        CompactPropertyMap map = CompactPropertyMap.copyOf(Map.of());
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get("foo"));
+    }
+
+    @Test
+    void map_shouldBeImmutable() {
+        CompactPropertyMap map = CompactPropertyMap.copyOf(Map.of("foo", "bar"));
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("baz", "qux"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("foo"));
+        assertThrows(UnsupportedOperationException.class, map::clear);
+        assertSame(map, CompactPropertyMap.copyOf(map));
+        assertEquals(List.of("foo"), List.copyOf(map.keySet()));
+    }
+}
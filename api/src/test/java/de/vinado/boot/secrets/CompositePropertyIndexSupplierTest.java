@@ -5,8 +5,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.StandardEnvironment;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -106,6 +114,142 @@ class CompositePropertyIndexSupplierTest {
         assertEquals("DATABASE_USER_FILE", result.get("spring.datasource.username"));
     }
 
+    @Test
+    void streamingDelegates_shouldBeVisitedInsteadOfCollected() {
+        StreamingPropertyIndexSupplier streaming = new StreamingPropertyIndexSupplier() {
+
+            @Override
+            public void forEach(BiConsumer<String, String> action) {
+                action.accept("foo", "bar");
+                action.accept("baz", "qux");
+            }
+
+            @Override
+            public Map<String, String> get() {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        Map<String, String> result = CompositePropertyIndexSupplier.overriding()
+            .add(streaming)
+            .add(second)
+            .build()
+            .get();
+
+        assertEquals(Map.of("foo", "baz", "baz", "qux"), result);
+    }
+
+    @Test
+    void concurrentEvaluation_shouldMergeInDeclarationOrder() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        PropertyIndexSupplier slow = () -> {
+            threads.add(Thread.currentThread().getName());
+            LockSupport.parkNanos(Duration.ofMillis(100).toNanos());
+            return Map.of("foo", "slow");
+        };
+        PropertyIndexSupplier fast = () -> {
+            threads.add(Thread.currentThread().getName());
+            return Map.of("foo", "fast");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Map<String, String> kept = CompositePropertyIndexSupplier.keeping()
+                .add(first)
+                .add(slow)
+                .add(fast)
+                .concurrent(executor)
+                .build()
+                .get();
+            Map<String, String> overridden = CompositePropertyIndexSupplier.overriding()
+                .add(fast)
+                .add(slow)
+                .concurrent(executor)
+                .build()
+                .get();
+
+            assertEquals(Map.of("foo", "bar"), kept);
+            assertEquals(Map.of("foo", "slow"), overridden);
+            assertEquals(4, threads.size());
+            assertEquals(1, Collections.frequency(threads, Thread.currentThread().getName()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentEvaluation_shouldPropagateFailure() {
+        PropertyIndexSupplier failing = () -> {
+            throw new IllegalStateException("failing");
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            CompositePropertyIndexSupplier supplier = CompositePropertyIndexSupplier.overriding()
+                .add(first)
+                .add(failing)
+                .concurrent(executor)
+                .build();
+
+            assertThrows(IllegalStateException.class, supplier::get);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void conflicts_shouldReportWinningDelegate() {
+        PropertyIndexSupplier firstSupplier = PropertyIndexSupplier.from(first);
+        PropertyIndexSupplier secondSupplier = PropertyIndexSupplier.from(second);
+        List<CompositePropertyIndexSupplier.Conflict> overridden = new ArrayList<>();
+        List<CompositePropertyIndexSupplier.Conflict> kept = new ArrayList<>();
+
+        CompositePropertyIndexSupplier.overriding()
+            .add(firstSupplier)
+            .add(secondSupplier)
+            .add(Map.of("bar", "baz"))
+            .onConflict(overridden::add)
+            .build()
+            .get();
+        CompositePropertyIndexSupplier.keeping()
+            .add(firstSupplier)
+            .add(secondSupplier)
+            .onConflict(kept::add)
+            .build()
+            .get();
+
+        assertEquals(List.of(new CompositePropertyIndexSupplier.Conflict("foo", secondSupplier, firstSupplier, "bar")),
+            overridden);
+        assertEquals(List.of(new CompositePropertyIndexSupplier.Conflict("foo", firstSupplier, secondSupplier, "baz")),
+            kept);
+    }
+
+    @Test
+    void duplicateKeysOfSingleDelegate_shouldThrowException() {
+        StreamingPropertyIndexSupplier underscoreSeparated = action -> {
+            action.accept("foo.bar", "FOO_BAR");
+            action.accept("foo.bar", "foo_bar");
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            CompositePropertyIndexSupplier supplier = CompositePropertyIndexSupplier.overriding()
+                .add(underscoreSeparated)
+                .build();
+            CompositePropertyIndexSupplier concurrentSupplier = CompositePropertyIndexSupplier.overriding()
+                .add(first)
+                .add(underscoreSeparated)
+                .concurrent(executor)
+                .build();
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, supplier::get);
+            assertEquals("Duplicate key foo.bar", exception.getMessage());
+            assertThrows(IllegalStateException.class, concurrentSupplier::get);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     void setProperty(String key, String value) {
         when(environment.getSystemEnvironment()).thenReturn(Collections.singletonMap(key, value));
         when(environment.getProperty(key)).thenReturn(value);
@@ -0,0 +1,191 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import javax.crypto.SecretKey;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecryptingSecretResolverTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private SecretKey key;
+    private Map<String, String> contents;
+    private DecryptingSecretResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        key = DecryptingSecretResolver.createKey(KEY);
+        contents = new HashMap<>();
+        SecretResolver delegate = location -> Optional.ofNullable(contents.get(location));
+        resolver = new DecryptingSecretResolver(delegate, key);
+    }
+
+    @Test
+    void initializingNullArguments_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new DecryptingSecretResolver(null, key));
+        assertThrows(IllegalArgumentException.class, () -> new DecryptingSecretResolver(Optional::of, null));
+        assertThrows(IllegalArgumentException.class, () -> DecryptingSecretResolver.createKey(new byte[15]));
+    }
+
+    @Test
+    void envelope_shouldBeDecrypted() {
+        contents.put("file:/run/secrets/password", encrypt(" pässword1234\n"));
+
+        assertEquals(Optional.of("pässword1234"), resolver.loadContent("file:/run/secrets/password"));
+    }
+
+    @Test
+    void envelope_shouldBeDecryptedToRawBytes() {
+        byte[] secret = {0, 1, 2, -1};
+        contents.put("file:/run/secrets/keystore", DecryptingSecretResolver.encrypt(secret, key));
+
+        Optional<byte[]> resolved = resolver.loadBytes("file:/run/secrets/keystore");
+
+        assertTrue(resolved.isPresent());
+        assertArrayEquals(secret, resolved.get());
+    }
+
+    @Test
+    void batch_shouldBeForwardedToDelegate() {
+        List<Collection<String>> batches = new ArrayList<>();
+        SecretResolver delegate = new SecretResolver() {
+
+            @Override
+            public Optional<String> loadContent(String location) {
+                return Optional.ofNullable(contents.get(location));
+            }
+
+            @Override
+            public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+                batches.add(locations);
+                return SecretResolver.super.loadAll(locations);
+            }
+        };
+        resolver = new DecryptingSecretResolver(delegate, key);
+        contents.put("file:/run/secrets/password", encrypt("pässword1234"));
+        contents.put("file:/run/secrets/username", "bob");
+
+        Map<String, Optional<String>> secrets = resolver.loadAll(List.of("file:/run/secrets/password",
+            "file:/run/secrets/username"));
+
+        assertEquals(Map.of("file:/run/secrets/password", Optional.of("pässword1234"),
+            "file:/run/secrets/username", Optional.of("bob")), secrets);
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void batch_shouldBeDecryptedInOrder() {
+        List<String> locations = IntStream.range(0, 100).mapToObj(i -> "file:/run/secrets/" + i).toList();
+        IntStream.range(0, 100).forEach(i -> contents.put(locations.get(i), encrypt("secret" + i)));
+        contents.put("file:/run/secrets/plain", "plain");
+
+        Map<String, Optional<String>> secrets = resolver.loadAll(locations);
+        Map<String, Optional<String>> plainSecrets = resolver.loadAll(List.of("file:/run/secrets/plain"));
+
+        assertEquals(locations, List.copyOf(secrets.keySet()));
+        IntStream.range(0, 100).forEach(i -> assertEquals(Optional.of("secret" + i), secrets.get(locations.get(i))));
+        assertEquals(Map.of("file:/run/secrets/plain", Optional.of("plain")), plainSecrets);
+    }
+
+    @Test
+    void plainContent_shouldBePassedThrough() {
+        contents.put("file:/run/secrets/username", "bob");
+
+        assertEquals(Optional.of("bob"), resolver.loadContent("file:/run/secrets/username"));
+        assertEquals(Optional.empty(), resolver.loadContent("file:/run/secrets/foo"));
+    }
+
+    @Test
+    void encryption_shouldUseRandomNonce() {
+        assertNotEquals(encrypt("bob"), encrypt("bob"));
+    }
+
+    @Test
+    void tamperedEnvelope_shouldThrowException() {
+        byte[] envelope = Base64.getDecoder().decode(encrypt("bob").substring(DecryptingSecretResolver.ENVELOPE_PREFIX
+            .length()));
+        envelope[envelope.length - 1] ^= 1;
+        contents.put("file:/run/secrets/username",
+            DecryptingSecretResolver.ENVELOPE_PREFIX + Base64.getEncoder().encodeToString(envelope));
+
+        assertThrows(IllegalStateException.class, () -> resolver.loadContent("file:/run/secrets/username"));
+    }
+
+    @Test
+    void wrongKey_shouldThrowException() {
+        contents.put("file:/run/secrets/username", DecryptingSecretResolver.encrypt("bob".getBytes(
+            StandardCharsets.UTF_8), DecryptingSecretResolver.createKey(new byte[16])));
+
+        assertThrows(IllegalStateException.class, () -> resolver.loadContent("file:/run/secrets/username"));
+    }
+
+    @Test
+    void truncatedEnvelope_shouldThrowException() {
+        contents.put("file:/run/secrets/username", DecryptingSecretResolver.ENVELOPE_PREFIX + "Ym9i");
+
+        assertThrows(IllegalStateException.class, () -> resolver.loadContent("file:/run/secrets/username"));
+    }
+
+    @Test
+    void concurrentDecryption_shouldResolveEverySecret() {
+        IntStream.range(0, 100).forEach(i -> contents.put("file:/run/secrets/" + i, encrypt("secret" + i)));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        List<CompletableFuture<Optional<String>>> futures = IntStream.range(0, 100)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> resolver.loadContent("file:/run/secrets/" + i),
+                executor))
+            .toList();
+
+        IntStream.range(0, 100).forEach(i -> assertEquals(Optional.of("secret" + i), futures.get(i).join()));
+        executor.shutdown();
+    }
+
+    @Test
+    void configuredKeyLocation_shouldCreateDecorator() {
+        SecretResolver delegate = location -> Optional.of(Base64.getEncoder().encodeToString(KEY));
+        StandardEnvironment environment = new StandardEnvironment();
+
+        assertSame(delegate, DecryptingSecretResolver.of(environment, delegate));
+
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+            Map.of(DecryptingSecretResolver.KEY_LOCATION_PROPERTY, "file:/run/keys/secrets.key")));
+        assertInstanceOf(DecryptingSecretResolver.class, DecryptingSecretResolver.of(environment, delegate));
+    }
+
+    @Test
+    void missingKey_shouldThrowException() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+            Map.of(DecryptingSecretResolver.KEY_LOCATION_PROPERTY, "file:/run/keys/secrets.key")));
+
+        assertThrows(IllegalStateException.class,
+            () -> DecryptingSecretResolver.of(environment, location -> Optional.empty()));
+    }
+
+    private String encrypt(String secret) {
+        return DecryptingSecretResolver.encrypt(secret.getBytes(StandardCharsets.UTF_8), key);
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.core.io.ResourceLoader;
 
 import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -87,6 +88,22 @@ class DefaultSecretResolverTest {
         assertFalse(resolved.isPresent());
     }
 
+    @Test
+    void classpathResource_shouldLoadRawBytes() {
+        Optional<byte[]> resolved = resolver.loadBytes("classpath:spring_mail_host");
+
+        assertTrue(resolved.isPresent());
+        Assertions.assertEquals("localhost", new String(resolved.get(), StandardCharsets.UTF_8).trim());
+        long contentLength = resolver.getContentLength("classpath:spring_mail_host").orElse(-1);
+        Assertions.assertEquals(resolved.get().length, contentLength);
+    }
+
+    @Test
+    void nonExistingClasspathResource_shouldHaveNoBytes() {
+        assertFalse(resolver.loadBytes("classpath:foo").isPresent());
+        assertFalse(resolver.getContentLength("classpath:foo").isPresent());
+    }
+
     private static URI fromFile(String name) {
         String pathname = System.getProperty("user.dir") + "/src/test/resources/" + name;
         File file = new File(pathname);
@@ -0,0 +1,122 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSecretResolverTest {
+
+    @TempDir
+    Path directory;
+
+    private FileSecretResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new FileSecretResolver(new DefaultSecretResolver(new DefaultResourceLoader()));
+    }
+
+    @Test
+    void initializingNullArguments_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new FileSecretResolver(null));
+    }
+
+    @Test
+    void fileResource_shouldLoadTrimmedContent() throws IOException {
+        Path file = write("spring.datasource.password", " \tpässword1234\n");
+
+        Optional<String> resolved = resolver.loadContent(file.toUri());
+
+        assertEquals("pässword1234", resolved);
+    }
+
+    @Test
+    void largeFileResource_shouldLoadTrimmedContent() throws IOException {
+        String content = "pässword".repeat(16 * 1024);
+        Path file = write("spring.datasource.password", content + "\n");
+
+        Optional<String> resolved = resolver.loadContent(file.toUri());
+
+        assertEquals(content, resolved);
+    }
+
+    @Test
+    void blankFileResource_shouldNotResolve() throws IOException {
+        Path file = write("secret.empty", " \n");
+
+        Optional<String> resolved = resolver.loadContent(file.toUri());
+
+        assertFalse(resolved.isPresent());
+    }
+
+    @Test
+    void nonExistingFileResource_shouldNotResolve() {
+        Optional<String> resolved = resolver.loadContent(directory.resolve("foo").toUri());
+
+        assertFalse(resolved.isPresent());
+    }
+
+    @Test
+    void fileResourceBelowRegularFile_shouldNotResolve() throws IOException {
+        Path file = write("spring.datasource.password", "password1234");
+        String location = file.resolve("foo").toUri().toString();
+
+        assertFalse(resolver.loadContent(location).isPresent());
+        assertFalse(resolver.loadBytes(location).isPresent());
+    }
+
+    @Test
+    void directoryResource_shouldThrowException() {
+        assertThrows(IOException.class, () -> resolver.loadContent(directory.toUri()));
+    }
+
+    @Test
+    void classpathResource_shouldBeLoadedByFallback() {
+        Optional<String> resolved = resolver.loadContent("classpath:spring_mail_host");
+
+        assertEquals("localhost", resolved);
+    }
+
+    @Test
+    void binaryFileResource_shouldLoadRawBytes() throws IOException {
+        byte[] content = {0x30, (byte) 0x82, 0x00, 0x20, (byte) 0xff, 0x0a};
+        Path file = Files.write(directory.resolve("keystore.p12"), content);
+
+        Optional<byte[]> resolved = resolver.loadBytes(file.toUri().toString());
+
+        assertTrue(resolved.isPresent());
+        assertArrayEquals(content, resolved.get());
+        Assertions.assertEquals(OptionalLong.of(6), resolver.getContentLength(file.toUri().toString()));
+    }
+
+    @Test
+    void nonExistingFileResource_shouldHaveNoBytes() {
+        String location = directory.resolve("foo").toUri().toString();
+
+        assertFalse(resolver.loadBytes(location).isPresent());
+        assertFalse(resolver.getContentLength(location).isPresent());
+    }
+
+    private Path write(String filename, String content) throws IOException {
+        return Files.write(directory.resolve(filename), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertEquals(String expected, Optional<String> actual) {
+        assertTrue(actual.isPresent());
+        Assertions.assertEquals(expected, actual.get());
+    }
+}
@@ -0,0 +1,222 @@
+package de.vinado.boot.secrets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpSecretResolverTest {
+
+    private static final String KV2_DOCUMENT = """
+        {"data": {"data": {"username": "bob", "password": " pässword1234 "}, "metadata": {"version": 3}}}
+        """;
+    private static final String KV1_DOCUMENT = """
+        {"data": {"username": "alice"}, "lease_duration": 3600}
+        """;
+
+    private HttpServer server;
+    private Map<String, String> documents;
+    private List<String> requests;
+    private List<String> tokens;
+    private AtomicInteger inFlight;
+    private AtomicInteger maxInFlight;
+    private HttpSecretResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        documents = new ConcurrentHashMap<>(Map.of("/v1/secret/data/app", KV2_DOCUMENT, "/v1/kv/app", KV1_DOCUMENT));
+        requests = new CopyOnWriteArrayList<>();
+        tokens = new CopyOnWriteArrayList<>();
+        inFlight = new AtomicInteger();
+        maxInFlight = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        resolver = new HttpSecretResolver(Optional::of, getBaseUri(), "s.token");
+    }
+
+    private URI getBaseUri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/v1/");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            requests.add(path);
+            tokens.add(exchange.getRequestHeaders().getFirst(HttpSecretResolver.TOKEN_HEADER));
+            if (path.startsWith("/v1/slow/")) {
+                sleep(Duration.ofMillis(200));
+            }
+            if (path.startsWith("/v1/forbidden")) {
+                exchange.sendResponseHeaders(403, -1);
+                return;
+            }
+
+            String document = documents.getOrDefault(path, path.startsWith("/v1/slow/") ? KV1_DOCUMENT : null);
+            if (null == document) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] body = document.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void initializingNullArguments_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new HttpSecretResolver(null, getBaseUri(), null));
+        assertThrows(IllegalArgumentException.class, () -> new HttpSecretResolver(Optional::of, null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new HttpSecretResolver(Optional::of, getBaseUri(), null, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new HttpSecretResolver(Optional::of, getBaseUri(), null, Duration.ofSeconds(1), 0));
+    }
+
+    @Test
+    void kv2Document_shouldResolveTrimmedEntries() {
+        assertEquals(Optional.of("pässword1234"), resolver.loadContent("vault://secret/data/app#password"));
+        assertEquals(Optional.of("bob"), resolver.loadContent("vault://secret/data/app#username"));
+        assertEquals(List.of("s.token"), tokens);
+    }
+
+    @Test
+    void kv1Document_shouldResolveEntries() {
+        assertEquals(Optional.of("alice"), resolver.loadContent("vault://kv/app#username"));
+    }
+
+    @Test
+    void entriesOfSameDocument_shouldBeRequestedOnce() {
+        resolver.loadContent("vault://secret/data/app#username");
+        resolver.loadContent("vault://secret/data/app#password");
+        resolver.loadContent("vault://kv/app#username");
+
+        assertEquals(List.of("/v1/secret/data/app", "/v1/kv/app"), requests);
+    }
+
+    @Test
+    void missingDocumentOrEntry_shouldNotResolve() {
+        assertFalse(resolver.loadContent("vault://secret/data/foo#password").isPresent());
+        assertFalse(resolver.loadContent("vault://secret/data/app#foo").isPresent());
+        assertFalse(resolver.loadContent("vault://secret/data/app").isPresent());
+    }
+
+    @Test
+    void unsuccessfulResponse_shouldThrowExceptionAndNotBeCached() {
+        assertThrows(IllegalStateException.class, () -> resolver.loadContent("vault://forbidden#password"));
+        assertThrows(IllegalStateException.class, () -> resolver.loadContent("vault://forbidden#password"));
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void slowResponse_shouldTimeOut() {
+        resolver = new HttpSecretResolver(Optional::of, getBaseUri(), null, Duration.ofMillis(50), 1);
+
+        assertThrows(HttpTimeoutException.class, () -> resolver.loadContent("vault://slow/app#username"));
+    }
+
+    @Test
+    void concurrentLoading_shouldBeBounded() {
+        resolver = new HttpSecretResolver(Optional::of, getBaseUri(), null, Duration.ofSeconds(5), 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<CompletableFuture<Optional<String>>> futures = IntStream.range(0, 6)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> resolver.loadContent("vault://slow/" + i + "#username"),
+                executor))
+            .toList();
+
+        futures.forEach(future -> assertEquals(Optional.of("alice"), future.join()));
+        assertEquals(6, requests.size());
+        assertTrue(maxInFlight.get() <= 2);
+        assertTrue(maxInFlight.get() > 1);
+        executor.shutdown();
+    }
+
+    @Test
+    void batch_shouldRequestAllDocumentsBeforeWaiting() {
+        resolver = new HttpSecretResolver(Optional::of, getBaseUri(), null, Duration.ofSeconds(5), 4);
+
+        Map<String, Optional<String>> contents = resolver.loadAll(List.of("vault://slow/1#username",
+            "classpath:foo", "vault://slow/2#username", "vault://slow/1#password"));
+
+        assertEquals(List.of("vault://slow/1#username", "classpath:foo", "vault://slow/2#username",
+            "vault://slow/1#password"), List.copyOf(contents.keySet()));
+        assertEquals(Optional.of("alice"), contents.get("vault://slow/2#username"));
+        assertEquals(Optional.of("classpath:foo"), contents.get("classpath:foo"));
+        assertEquals(Optional.empty(), contents.get("vault://slow/1#password"));
+        assertEquals(2, requests.size());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void otherScheme_shouldBeLoadedByFallback() {
+        assertEquals(Optional.of("classpath:foo"), resolver.loadContent("classpath:foo"));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void unconfiguredEnvironment_shouldReturnFallback() {
+        SecretResolver fallback = Optional::of;
+
+        assertSame(fallback, HttpSecretResolver.of(new StandardEnvironment(), fallback));
+    }
+
+    @Test
+    void configuredEnvironment_shouldCreateResolver() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+            HttpSecretResolver.URI_PROPERTY, "http://localhost:8200", HttpSecretResolver.TIMEOUT_PROPERTY, "5s")));
+
+        assertInstanceOf(HttpSecretResolver.class, HttpSecretResolver.of(environment, Optional::of));
+    }
+}
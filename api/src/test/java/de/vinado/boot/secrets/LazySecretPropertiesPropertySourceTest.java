@@ -0,0 +1,133 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazySecretPropertiesPropertySourceTest {
+
+    private MutablePropertySources sources;
+    private AtomicInteger loads;
+    private SecretResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        sources = new StandardEnvironment().getPropertySources();
+        loads = new AtomicInteger();
+        resolver = location -> {
+            loads.incrementAndGet();
+            return Optional.of(location).filter(value -> !value.isEmpty());
+        };
+    }
+
+    @Test
+    void emptyIndex_shouldNotMerge() {
+        LazySecretPropertiesPropertySource.merge(Collections.emptyMap(), resolver, sources);
+
+        assertFalse(sources.contains(LazySecretPropertiesPropertySource.NAME));
+    }
+
+    @Test
+    void mergedIndex_shouldNotLoadContent() {
+        LazySecretPropertiesPropertySource.merge(Map.of("foo", "bar"), resolver, sources);
+
+        assertTrue(sources.contains(LazySecretPropertiesPropertySource.NAME));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void repeatedAccess_shouldLoadContentOnce() {
+        LazySecretPropertiesPropertySource.merge(Map.of("foo", "bar"), resolver, sources);
+        PropertySource<?> propertySource = sources.get(LazySecretPropertiesPropertySource.NAME);
+
+        assertEquals("bar", propertySource.getProperty("foo"));
+        assertEquals("bar", propertySource.getProperty("foo"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void unreadProperties_shouldBeReported() {
+        LazySecretPropertiesPropertySource propertySource =
+            new LazySecretPropertiesPropertySource(Map.of("foo", "bar", "baz", "qux"), resolver);
+
+        propertySource.getProperty("foo");
+
+        assertEquals(Set.of("baz"), propertySource.getUnreadPropertyNames());
+    }
+
+    @Test
+    void propertySource_shouldBeImmutable() {
+        LazySecretPropertiesPropertySource propertySource =
+            new LazySecretPropertiesPropertySource(Map.of("foo", "bar"), resolver);
+
+        assertTrue(propertySource.isImmutable());
+    }
+
+    @Test
+    void missingContent_shouldFallBackToExistingSecretProperties() {
+        SecretPropertiesPropertySource.merge(Map.of("foo", "bar"), sources);
+        LazySecretPropertiesPropertySource.merge(Map.of("foo", "", "baz", "qux"), resolver, sources);
+        PropertySource<?> propertySource = sources.get(LazySecretPropertiesPropertySource.NAME);
+
+        assertEquals("bar", propertySource.getProperty("foo"));
+        assertEquals("qux", propertySource.getProperty("baz"));
+        assertNull(propertySource.getProperty("quux"));
+    }
+
+    @Test
+    void eagerMerge_shouldExposeContentInsteadOfLocations() {
+        LazySecretPropertiesPropertySource.merge(Map.of("foo", "bar"), location -> Optional.of("content"), sources);
+        SecretPropertiesPropertySource.merge(Map.of("baz", "qux"), sources);
+
+        assertEquals("content", sources.get(SecretPropertiesPropertySource.NAME).getProperty("foo"));
+        assertEquals("qux", sources.get(SecretPropertiesPropertySource.NAME).getProperty("baz"));
+    }
+
+    @Test
+    void eagerMerge_shouldNotLoadLazySecrets() {
+        LazySecretPropertiesPropertySource.merge(Map.of("foo", "bar", "baz", "qux"), resolver, sources);
+        LazySecretPropertiesPropertySource lazySource =
+            (LazySecretPropertiesPropertySource) sources.get(LazySecretPropertiesPropertySource.NAME);
+
+        SecretPropertiesPropertySource.merge(Map.of("baz", "override", "quux", "corge"), sources);
+        EnumerablePropertySource<?> propertySource =
+            (EnumerablePropertySource<?>) sources.get(SecretPropertiesPropertySource.NAME);
+
+        assertEquals(Set.of("foo", "baz"), lazySource.getUnreadPropertyNames());
+        assertEquals(Set.of("foo", "baz", "quux"), Set.of(propertySource.getPropertyNames()));
+        assertEquals("override", propertySource.getProperty("baz"));
+        assertEquals("bar", propertySource.getProperty("foo"));
+        assertEquals(Set.of("baz"), lazySource.getUnreadPropertyNames());
+    }
+
+    @Test
+    void failedLoad_shouldBeRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        LazySecretPropertiesPropertySource propertySource = new LazySecretPropertiesPropertySource(Map.of("foo", "bar"),
+            location -> {
+                if (1 == attempts.incrementAndGet()) {
+                    throw new IllegalStateException("unavailable");
+                }
+                return Optional.of(location);
+            });
+
+        assertThrows(IllegalStateException.class, () -> propertySource.getProperty("foo"));
+        assertEquals(Set.of("foo"), propertySource.getUnreadPropertyNames());
+        assertEquals("bar", propertySource.getProperty("foo"));
+    }
+}
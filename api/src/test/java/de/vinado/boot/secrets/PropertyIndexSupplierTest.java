@@ -7,10 +7,12 @@ import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.env.StandardEnvironment;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PropertyIndexSupplierTest {
@@ -37,6 +39,50 @@ class PropertyIndexSupplierTest {
         assertEquals("bob", index.get("spring.datasource.username"));
     }
 
+    @Test
+    void substitution_shouldVisitEntriesOfUnderlyingSupplier() {
+        PropertyResolver resolver = new StandardEnvironment();
+
+        StreamingPropertyIndexSupplier unresolved = action -> {
+            action.accept("spring.datasource.username", "SPRING_DATASOURCE_USERNAME");
+            action.accept("spring.datasource.password", "SPRING_DATASOURCE_PASSWORD");
+        };
+        Map<String, String> index = new HashMap<>();
+        unresolved.substituteValues(resolver).forEach(index::put);
+
+        assertEquals(Map.of("spring.datasource.username", "bob"), index);
+    }
+
+    @Test
+    void forEach_shouldVisitSuppliedEntries() {
+        PropertyIndexSupplier supplier = () -> Map.of("foo", "bar");
+        Map<String, String> index = new HashMap<>();
+
+        supplier.forEach(index::put);
+
+        assertEquals(Map.of("foo", "bar"), index);
+    }
+
+    @Test
+    void streamingDuplicateKeys_shouldThrowException() {
+        StreamingPropertyIndexSupplier supplier = action -> {
+            action.accept("foo", "bar");
+            action.accept("foo", "baz");
+        };
+
+        assertThrows(IllegalStateException.class, supplier::get);
+    }
+
+    @Test
+    void from_shouldCopyMap() {
+        Map<String, String> properties = new HashMap<>(Map.of("foo", "bar"));
+        PropertyIndexSupplier supplier = PropertyIndexSupplier.from(properties);
+
+        supplier.get().clear();
+
+        assertEquals(properties, supplier.get());
+    }
+
     @AfterAll
     static void afterAll() {
         System.clearProperty("SPRING_DATASOURCE_USERNAME");
@@ -0,0 +1,136 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SecretContentCacheTest {
+
+    private SecretContentCache cache;
+    private List<String> locations;
+    private SecretResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SecretContentCache();
+        locations = new ArrayList<>();
+        resolver = location -> {
+            locations.add(location);
+            return Optional.of("secret");
+        };
+    }
+
+    @Test
+    void sameLocation_shouldBeLoadedOnce() {
+        SecretResolver first = new CachingSecretResolver(resolver, cache);
+        SecretResolver second = new CachingSecretResolver(resolver, cache);
+
+        assertEquals(Optional.of("secret"), first.loadContent("classpath:spring_mail_host"));
+        assertEquals(Optional.of("secret"), second.loadContent("classpath:spring_mail_host"));
+        assertEquals(List.of("classpath:spring_mail_host"), locations);
+    }
+
+    @Test
+    void equivalentFileUris_shouldBeLoadedOnce() {
+        cache.load("file:/run/secrets/db_password", resolver);
+        cache.load("file:///run/secrets/../secrets/./db_password", resolver);
+
+        assertEquals(1, locations.size());
+    }
+
+    @Test
+    void failure_shouldNotBeCached() {
+        SecretResolver failingResolver = location -> {
+            throw new IllegalStateException(location);
+        };
+
+        assertThrows(IllegalStateException.class, () -> cache.load("classpath:foo", failingResolver));
+        assertEquals(Optional.of("secret"), cache.load("classpath:foo", resolver));
+    }
+
+    @Test
+    void prefetchedLocation_shouldNotBeLoadedAgain() {
+        cache.prefetch("classpath:foo", resolver, Runnable::run);
+
+        assertEquals(Optional.of("secret"), cache.load("classpath:foo", location -> Optional.empty()));
+        assertEquals(List.of("classpath:foo"), locations);
+    }
+
+    @Test
+    void missingOrFailedPrefetch_shouldBeLoadedAgain() {
+        cache.prefetch("classpath:foo", location -> Optional.empty(), Runnable::run);
+        cache.prefetch("classpath:bar", location -> {
+            throw new IllegalStateException(location);
+        }, Runnable::run);
+
+        assertEquals(Optional.of("secret"), cache.load("classpath:foo", resolver));
+        assertEquals(Optional.of("secret"), cache.load("classpath:bar", resolver));
+        assertEquals(List.of("classpath:foo", "classpath:bar"), locations);
+    }
+
+    @Test
+    void missingLocations_shouldBeLoadedInSingleBatch() {
+        List<List<String>> batches = new ArrayList<>();
+        SecretResolver batchResolver = new SecretResolver() {
+
+            @Override
+            public Optional<String> loadContent(String location) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+                batches.add(List.copyOf(locations));
+                Map<String, Optional<String>> contents = new LinkedHashMap<>();
+                locations.forEach(location -> contents.put(location, Optional.of(location)));
+                return contents;
+            }
+        };
+        cache.load("classpath:foo", resolver);
+
+        Map<String, Optional<String>> contents = new CachingSecretResolver(batchResolver, cache)
+            .loadAll(List.of("classpath:bar", "classpath:foo", "classpath:baz"));
+
+        assertEquals(List.of("classpath:bar", "classpath:foo", "classpath:baz"), List.copyOf(contents.keySet()));
+        assertEquals(Optional.of("secret"), contents.get("classpath:foo"));
+        assertEquals(Optional.of("classpath:baz"), contents.get("classpath:baz"));
+        assertEquals(List.of(List.of("classpath:bar", "classpath:baz")), batches);
+        assertEquals(Optional.of("classpath:bar"), cache.load("classpath:bar", resolver));
+    }
+
+    @Test
+    void closedCache_shouldPassOnEveryRequest() {
+        cache.load("classpath:foo", resolver);
+        cache.close();
+        cache.load("classpath:foo", resolver);
+        cache.load("classpath:foo", resolver);
+
+        assertEquals(3, locations.size());
+    }
+
+    @Test
+    void bootstrapContext_shouldShareAndCloseCache() {
+        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+        SecretContentCache shared = SecretContentCache.get(bootstrapContext);
+        shared.load("classpath:foo", resolver);
+
+        assertSame(shared, SecretContentCache.get(bootstrapContext));
+
+        bootstrapContext.close(new GenericApplicationContext());
+        shared.load("classpath:foo", resolver);
+
+        assertEquals(2, locations.size());
+    }
+}
@@ -3,6 +3,11 @@ package de.vinado.boot.secrets;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.StandardEnvironment;
@@ -11,6 +16,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -59,6 +65,36 @@ class SecretPropertiesPropertySourceTest {
         assertProperty("foo", "bar");
     }
 
+    @Test
+    void source_shouldBeCopied() {
+        Map<String, Object> source = new HashMap<>(Map.of("foo", "bar"));
+        SecretPropertiesPropertySource propertySource = new SecretPropertiesPropertySource(source);
+
+        source.put("baz", "qux");
+        String[] propertyNames = propertySource.getPropertyNames();
+        propertyNames[0] = "baz";
+
+        assertArrayEquals(new String[]{"foo"}, propertySource.getPropertyNames());
+        assertFalse(propertySource.containsProperty("baz"));
+        assertEquals("bar", propertySource.getProperty("foo"));
+    }
+
+    @Test
+    void immutableSource_shouldBeBound() {
+        SecretPropertiesPropertySource propertySource = new SecretPropertiesPropertySource(Map.of(
+            "spring.datasource.username", "alice", "spring.datasource.password", "password1234"));
+        Iterable<ConfigurationPropertySource> configurationSources = ConfigurationPropertySources.from(propertySource);
+        ConfigurationPropertySource configurationSource = configurationSources.iterator().next();
+
+        assertTrue(propertySource.isImmutable());
+        assertEquals("password1234", new Binder(configurationSources).bind("spring.datasource.password", String.class)
+            .orElse(null));
+        assertEquals(ConfigurationPropertyState.PRESENT,
+            configurationSource.containsDescendantOf(ConfigurationPropertyName.of("spring.datasource")));
+        assertEquals(ConfigurationPropertyState.ABSENT,
+            configurationSource.containsDescendantOf(ConfigurationPropertyName.of("spring.mail")));
+    }
+
     private void assertProperty(String key, String value) {
         SecretPropertiesPropertySource.merge(this.source, sources);
         PropertySource<?> propertySource = sources.get(SecretPropertiesPropertySource.NAME);
@@ -3,9 +3,15 @@ package de.vinado.boot.secrets;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SecretResolverTest {
@@ -20,4 +26,37 @@ class SecretResolverTest {
         assertTrue(content.isPresent());
         assertEquals("file:/run/secrets/foo", content.get());
     }
+
+    @Test
+    void defaultBatch_shouldLoadEveryLocationOnceInOrder() {
+        List<String> locations = new ArrayList<>();
+        SecretResolver resolver = location -> {
+            locations.add(location);
+            return "classpath:missing".equals(location) ? Optional.empty() : Optional.of(location);
+        };
+
+        Map<String, Optional<String>> expected = new LinkedHashMap<>();
+        expected.put("classpath:foo", Optional.of("classpath:foo"));
+        expected.put("classpath:missing", Optional.empty());
+        expected.put("classpath:bar", Optional.of("classpath:bar"));
+
+        Map<String, Optional<String>> contents = resolver.loadAll(List.of("classpath:foo", "classpath:missing",
+            "classpath:bar", "classpath:foo"));
+
+        assertEquals(expected, contents);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(contents.keySet()));
+        assertEquals(List.of("classpath:foo", "classpath:missing", "classpath:bar"), locations);
+    }
+
+    @Test
+    void failingResolver_shouldCompleteFutureExceptionally() {
+        SecretResolver resolver = location -> {
+            throw new IllegalStateException(location);
+        };
+
+        CompletableFuture<Optional<String>> future = resolver.loadContentAsync("classpath:foo");
+
+        assertTrue(future.isCompletedExceptionally());
+        assertThrows(IllegalStateException.class, () -> resolver.loadAll(List.of("classpath:foo")));
+    }
 }
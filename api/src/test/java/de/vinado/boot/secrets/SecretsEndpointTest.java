@@ -0,0 +1,35 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SecretsEndpointTest {
+
+    @Test
+    void initializingNullArguments_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new SecretsEndpoint(null));
+    }
+
+    @Test
+    void descriptor_shouldContainReport() {
+        SecretsReport report = new SecretsReport();
+        report.recordEntry("spring.mail.password", "file:/run/secrets/password", Optional.of("1234"), Duration.ZERO);
+        report.recordPhase("resolve", Duration.ZERO);
+        report.recordTimeout("spring.mail.password", "file:/a", Duration.ZERO, SecretTimeoutPolicy.SKIP);
+
+        SecretsEndpoint.SecretsDescriptor descriptor = new SecretsEndpoint(report).secrets();
+
+        assertEquals(report.getEntries(), descriptor.properties());
+        assertEquals(report.getPhases(), descriptor.phases());
+        assertEquals(report.getTimeouts(), descriptor.timeouts());
+        assertEquals(List.of("spring.mail.password"), descriptor.properties().stream()
+            .map(SecretsReport.Entry::propertyName)
+            .toList());
+    }
+}
@@ -1,13 +1,20 @@
 package de.vinado.boot.secrets;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -42,4 +49,33 @@ class SecretsEnvironmentPostProcessorTest {
         assertTrue(environment.getPropertySources().contains(SecretPropertiesPropertySource.NAME));
         assertEquals("bob", property);
     }
+
+    @Test
+    void binaryFiles_shouldKeepContentAndSize_whenRemoteResolversAreEnabled(@TempDir Path directory)
+        throws IOException {
+        byte[] keyStore = {0x30, (byte) 0x82, 0x00, 0x20, (byte) 0xff, 0x0a};
+        Path keyStoreFile = Files.write(directory.resolve("keystore.p12"), keyStore);
+        Path trustStoreFile = Files.write(directory.resolve("truststore.p12"), new byte[2048]);
+        ConfigurableEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+            HttpSecretResolver.URI_PROPERTY, "http://localhost:8200",
+            CommandSecretResolver.ENABLED_PROPERTY, "true",
+            SecretsEnvironment.CONTENT_POLICY_PROPERTY_PREFIX + "server.ssl.key-store", "BASE64",
+            SecretsEnvironment.CONTENT_POLICY_PROPERTY_PREFIX + "server.ssl.trust-store", "BASE64",
+            SecretsEnvironment.MAX_SIZE_PROPERTY, "1KB",
+            SecretsEnvironment.OVERSIZED_POLICY_PROPERTY, "LOCATION")));
+        Map<String, String> index = Map.of("server.ssl.key-store", keyStoreFile.toUri().toString(),
+            "server.ssl.trust-store", trustStoreFile.toUri().toString());
+
+        SecretsEnvironmentPostProcessor processor = new SecretsEnvironmentPostProcessor(Supplier::get) {
+            @Override
+            protected PropertyIndexSupplier getPropertyIndexSupplier(ConfigurableEnvironment environment) {
+                return () -> index;
+            }
+        };
+        processor.postProcessEnvironment(environment, new DefaultResourceLoader());
+
+        assertEquals(Base64.getEncoder().encodeToString(keyStore), environment.getProperty("server.ssl.key-store"));
+        assertEquals(trustStoreFile.toUri().toString(), environment.getProperty("server.ssl.trust-store"));
+    }
 }
@@ -1,17 +1,36 @@
 package de.vinado.boot.secrets;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.metrics.StartupStep;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -61,4 +80,402 @@ class SecretsEnvironmentTest {
         assertTrue(environment.getPropertySources().contains(SecretPropertiesPropertySource.NAME));
         assertEquals("bob", property);
     }
+
+    @Test
+    void parallelLoading_shouldAddAllPropertiesToEnvironment() {
+        System.setProperty(SecretsEnvironment.PARALLEL_PROPERTY, "true");
+        System.setProperty(SecretsEnvironment.PARALLELISM_PROPERTY, "4");
+        Map<String, String> index = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            index.put("secret." + i, "value" + i);
+        }
+        propertyIndexSupplier = () -> index;
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver, propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        index.forEach((key, value) -> assertEquals(value, environment.getProperty(key)));
+    }
+
+    @Test
+    void parallelLoading_shouldPropagateFailure() {
+        System.setProperty(SecretsEnvironment.PARALLEL_PROPERTY, "true");
+        resolver = location -> {
+            throw new IllegalStateException(location);
+        };
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "bob", "spring.datasource.password", "1234");
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver, propertyIndexSupplier);
+
+        assertThrows(IllegalStateException.class, secretsEnvironment::processAndApply);
+        assertFalse(environment.getPropertySources().contains(SecretPropertiesPropertySource.NAME));
+    }
+
+    @Test
+    void lazyLoading_shouldDeferLoadingUntilFirstAccess() {
+        System.setProperty(SecretsEnvironment.LAZY_PROPERTY, "true");
+        List<String> locations = new ArrayList<>();
+        resolver = location -> {
+            locations.add(location);
+            return Optional.of(location);
+        };
+        propertyIndexSupplier = () -> Collections.singletonMap("spring.datasource.username", "bob");
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver, propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        assertTrue(locations.isEmpty());
+        assertEquals("bob", environment.getProperty("spring.datasource.username"));
+        assertEquals(Collections.singletonList("bob"), locations);
+    }
+
+    @Test
+    void applicationStartup_shouldRecordSteps() {
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "bob", "spring.datasource.password", "");
+        resolver = location -> Optional.of(location).filter(value -> !value.isEmpty());
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(16);
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver, propertyIndexSupplier);
+        secretsEnvironment.setApplicationStartup(applicationStartup);
+        secretsEnvironment.setProcessor("processor");
+
+        secretsEnvironment.processAndApply();
+        List<StartupTimeline.TimelineEvent> events = applicationStartup.getBufferedTimeline().getEvents();
+
+        assertEquals(List.of("secrets.index", "secrets.resolve", "secrets.merge"), events.stream()
+            .map(StartupTimeline.TimelineEvent::getStartupStep)
+            .map(StartupStep::getName)
+            .collect(Collectors.toList()));
+        Map<String, String> tags = tags(events.get(1).getStartupStep());
+        assertEquals("2", tags.get("index.size"));
+        assertEquals("1", tags.get("resolved.count"));
+        assertEquals("3", tags.get("bytes.read"));
+        assertEquals("processor", tags.get("processor"));
+    }
+
+    @Test
+    void contentPolicies_shouldExposeSecrets() {
+        propertyIndexSupplier = () -> Map.of("server.ssl.key-store", "file:/run/secrets/keystore.p12",
+            "server.ssl.trust-store", "file:/run/secrets/truststore.p12",
+            "spring.datasource.password", "file:/run/secrets/password");
+        addProperties(Map.of(SecretsEnvironment.CONTENT_POLICY_PROPERTY_PREFIX + "server.ssl.key-store", "BASE64",
+            SecretsEnvironment.CONTENT_POLICY_PROPERTY_PREFIX + "server.ssl.trust-store", "LOCATION"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new BinaryResolver(),
+            propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals("AAEC/w==", environment.getProperty("server.ssl.key-store"));
+        assertEquals("file:/run/secrets/truststore.p12", environment.getProperty("server.ssl.trust-store"));
+        assertEquals("text", environment.getProperty("spring.datasource.password"));
+    }
+
+    @Test
+    void batchResolver_shouldLoadTextSecretsInSingleBatch() {
+        BatchResolver resolver = new BatchResolver();
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "vault://db#username",
+            "spring.datasource.password", "vault://db#password",
+            "server.ssl.trust-store", "file:/run/secrets/truststore.p12");
+        addProperties(Map.of(SecretsEnvironment.CONTENT_POLICY_PROPERTY_PREFIX + "server.ssl.trust-store", "LOCATION"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver, propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals(1, resolver.batches.size());
+        assertEquals(Set.of("vault://db#username", "vault://db#password"), Set.copyOf(resolver.batches.get(0)));
+        assertEquals("vault://db#username", environment.getProperty("spring.datasource.username"));
+        assertEquals("vault://db#password", environment.getProperty("spring.datasource.password"));
+        assertEquals("file:/run/secrets/truststore.p12", environment.getProperty("server.ssl.trust-store"));
+    }
+
+    @Test
+    void oversizedSecrets_shouldApplyOversizedPolicy() {
+        propertyIndexSupplier = () -> Map.of("foo", "small", "bar", "largeSecret", "baz", "largeSecret");
+        addProperties(Map.of(SecretsEnvironment.MAX_SIZE_PROPERTY, "5B",
+            SecretsEnvironment.CONTENT_POLICY_PROPERTY_PREFIX + "baz", "LOCATION"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new BinaryResolver(),
+            propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals("text", environment.getProperty("foo"));
+        assertNull(environment.getProperty("bar"));
+        assertEquals("largeSecret", environment.getProperty("baz"));
+    }
+
+    @Test
+    void oversizedSecrets_shouldBeExposedAsLocation_whenLoadedLazily() {
+        System.setProperty(SecretsEnvironment.LAZY_PROPERTY, "true");
+        propertyIndexSupplier = () -> Map.of("foo", "largeSecret");
+        addProperties(Map.of(SecretsEnvironment.MAX_SIZE_PROPERTY, "5B",
+            SecretsEnvironment.OVERSIZED_POLICY_PROPERTY, "LOCATION"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new BinaryResolver(),
+            propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals("largeSecret", environment.getProperty("foo"));
+    }
+
+    @Test
+    void invalidOversizedPolicy_shouldThrowException() {
+        propertyIndexSupplier = Collections::emptyMap;
+        addProperties(Map.of(SecretsEnvironment.OVERSIZED_POLICY_PROPERTY, "BASE64"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver, propertyIndexSupplier);
+
+        assertThrows(IllegalArgumentException.class, secretsEnvironment::processAndApply);
+    }
+
+    @Test
+    void report_shouldRecordEntriesAndPhases() {
+        SecretsReport report = new SecretsReport();
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "bob", "spring.datasource.password", "");
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment,
+            location -> Optional.of(location).filter(content -> !content.isEmpty()), propertyIndexSupplier);
+        secretsEnvironment.setReport(report.withProcessor("foo"));
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals(1, report.getEntries().size());
+        SecretsReport.Entry entry = report.getEntries().get(0);
+        assertEquals("spring.datasource.username", entry.propertyName());
+        assertEquals("foo", entry.processor());
+        assertEquals("bob", entry.location());
+        assertEquals(3, entry.size());
+        assertEquals(List.of("index", "resolve", "merge"), report.getPhases().stream()
+            .map(SecretsReport.Phase::name)
+            .toList());
+    }
+
+    @Test
+    void batchEntry_shouldBeReportedWithoutDuration() {
+        SecretsReport report = new SecretsReport();
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "bob");
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, Optional::of, propertyIndexSupplier);
+        secretsEnvironment.setReport(report);
+
+        secretsEnvironment.processAndApply();
+
+        assertNull(report.getEntries().get(0).duration());
+    }
+
+    @Test
+    void entryLoadedWithTimeout_shouldBeReportedWithDuration() {
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "bob");
+        addProperties(Map.of(SecretsEnvironment.TIMEOUT_PROPERTY, "5s"));
+        SecretsReport report = new SecretsReport();
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, Optional::of, propertyIndexSupplier);
+        secretsEnvironment.setReport(report);
+
+        secretsEnvironment.processAndApply();
+
+        assertNotNull(report.getEntries().get(0).duration());
+    }
+
+    @Test
+    void timedOutSecret_shouldFailByDefault() {
+        propertyIndexSupplier = () -> Map.of("spring.datasource.password", "hang");
+        addProperties(Map.of(SecretsEnvironment.TIMEOUT_PROPERTY, "50ms"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new HangingResolver(),
+            propertyIndexSupplier);
+
+        assertThrows(IllegalStateException.class, secretsEnvironment::processAndApply);
+        assertFalse(environment.getPropertySources().contains(SecretPropertiesPropertySource.NAME));
+    }
+
+    @Test
+    void timedOutSecrets_shouldApplyTimeoutPolicy() {
+        Map<String, String> index = new LinkedHashMap<>();
+        index.put("spring.datasource.username", "bob");
+        index.put("spring.datasource.password", "hang");
+        index.put("spring.mail.password", "hang");
+        propertyIndexSupplier = () -> index;
+        addProperties(Map.of(SecretsEnvironment.TIMEOUT_PROPERTY, "50ms",
+            SecretsEnvironment.TIMEOUT_POLICY_PROPERTY, "SKIP",
+            SecretsEnvironment.TIMEOUT_POLICY_PROPERTY_PREFIX + "spring.mail.password", "FALLBACK",
+            SecretsEnvironment.TIMEOUT_FALLBACK_PROPERTY_PREFIX + "spring.mail.password", "fallback"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new HangingResolver(),
+            propertyIndexSupplier);
+        SecretsReport report = new SecretsReport();
+        secretsEnvironment.setReport(report);
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals("bob", environment.getProperty("spring.datasource.username"));
+        assertNull(environment.getProperty("spring.datasource.password"));
+        assertEquals("fallback", environment.getProperty("spring.mail.password"));
+        assertEquals(List.of(SecretTimeoutPolicy.SKIP, SecretTimeoutPolicy.FALLBACK), report.getTimeouts().stream()
+            .map(SecretsReport.Timeout::policy)
+            .toList());
+        assertEquals("hang", report.getTimeouts().get(0).location());
+    }
+
+    @Test
+    void timeoutPolicy_shouldBeParsedCaseInsensitively() {
+        propertyIndexSupplier = () -> Map.of("spring.datasource.password", "hang");
+        addProperties(Map.of(SecretsEnvironment.TIMEOUT_PROPERTY, "50ms",
+            SecretsEnvironment.TIMEOUT_POLICY_PROPERTY_PREFIX + "spring.datasource.password", "skip"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new HangingResolver(),
+            propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        assertNull(environment.getProperty("spring.datasource.password"));
+    }
+
+    @Test
+    void deadline_shouldBoundLoadingOfAllSecrets() {
+        System.setProperty(SecretsEnvironment.PARALLEL_PROPERTY, "true");
+        System.setProperty(SecretsEnvironment.PARALLELISM_PROPERTY, "2");
+        Map<String, String> index = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            index.put("secret." + i, "hang");
+        }
+        propertyIndexSupplier = () -> index;
+        addProperties(Map.of(SecretsEnvironment.DEADLINE_PROPERTY, "200ms",
+            SecretsEnvironment.TIMEOUT_POLICY_PROPERTY, "SKIP"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new HangingResolver(),
+            propertyIndexSupplier);
+
+        long start = System.nanoTime();
+        secretsEnvironment.processAndApply();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        index.keySet().forEach(propertyName -> assertNull(environment.getProperty(propertyName)));
+    }
+
+    @Test
+    void timedOutSecret_shouldApplyTimeoutPolicy_whenLoadedLazily() {
+        System.setProperty(SecretsEnvironment.LAZY_PROPERTY, "true");
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "bob", "spring.datasource.password", "hang");
+        addProperties(Map.of(SecretsEnvironment.TIMEOUT_PROPERTY, "50ms",
+            SecretsEnvironment.TIMEOUT_POLICY_PROPERTY, "SKIP"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new HangingResolver(),
+            propertyIndexSupplier);
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals("bob", environment.getProperty("spring.datasource.username"));
+        assertNull(environment.getProperty("spring.datasource.password"));
+    }
+
+    @Test
+    void timedOutSecret_shouldNotFallBack() {
+        propertyIndexSupplier = () -> Map.of("spring.datasource.password", "hang");
+        addProperties(Map.of(SecretsEnvironment.TIMEOUT_PROPERTY, "50ms",
+            SecretsEnvironment.TIMEOUT_POLICY_PROPERTY, "SKIP"));
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new HangingResolver(),
+            propertyIndexSupplier);
+        secretsEnvironment.setFallbackLocations(propertyName -> List.of("fallback"));
+
+        secretsEnvironment.processAndApply();
+
+        assertNull(environment.getProperty("spring.datasource.password"));
+    }
+
+    @Test
+    void emptySecret_shouldBeReportedOnceWithFallbackLocation() {
+        resolver = location -> "fallback".equals(location) ? Optional.of("1234") : Optional.empty();
+        propertyIndexSupplier = () -> Map.of("spring.datasource.password", "empty");
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver, propertyIndexSupplier);
+        secretsEnvironment.setFallbackLocations(propertyName -> List.of("fallback"));
+        SecretsReport report = new SecretsReport();
+        secretsEnvironment.setReport(report);
+
+        secretsEnvironment.processAndApply();
+
+        assertEquals("1234", environment.getProperty("spring.datasource.password"));
+        assertEquals(1, report.getEntries().size());
+        assertEquals("fallback", report.getEntries().get(0).location());
+        assertTrue(report.getEntries().get(0).overrides().isEmpty());
+    }
+
+    @Test
+    void emptyLocation_shouldBeCountedApartFromMissingLocation() {
+        propertyIndexSupplier = () -> Map.of("spring.datasource.username", "bob", "spring.datasource.password",
+            "empty", "spring.mail.password", "missing");
+        secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, new SecretResolver() {
+            @Override
+            public Optional<String> loadContent(String location) {
+                return "bob".equals(location) ? Optional.of(location) : Optional.empty();
+            }
+
+            @Override
+            public OptionalLong getContentLength(String location) {
+                return "missing".equals(location) ? OptionalLong.empty() : OptionalLong.of(location.length());
+            }
+        }, propertyIndexSupplier);
+        SecretsMetrics metrics = new SecretsMetrics();
+        secretsEnvironment.setMetrics(metrics);
+        Map<String, Long> outcomes = new HashMap<>();
+
+        secretsEnvironment.processAndApply();
+        metrics.subscribe(aggregate -> {
+            if ("secrets.locations".equals(aggregate.name())) {
+                outcomes.put(aggregate.tags().get(1), aggregate.count());
+            }
+        });
+
+        assertEquals(Map.of("resolved", 1L, "empty", 1L, "missing", 1L), outcomes);
+    }
+
+    private void addProperties(Map<String, Object> properties) {
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+    }
+
+    private static Map<String, String> tags(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+            .collect(Collectors.toMap(StartupStep.Tag::getKey, StartupStep.Tag::getValue));
+    }
+
+    private static class BinaryResolver implements SecretResolver {
+
+        @Override
+        public Optional<String> loadContent(String location) {
+            return Optional.of("text");
+        }
+
+        @Override
+        public Optional<byte[]> loadBytes(String location) {
+            return Optional.of(new byte[]{0x00, 0x01, 0x02, (byte) 0xff});
+        }
+
+        @Override
+        public OptionalLong getContentLength(String location) {
+            return OptionalLong.of(location.length());
+        }
+    }
+
+    private static class BatchResolver implements SecretResolver {
+
+        private final List<Collection<String>> batches = new ArrayList<>();
+
+        @Override
+        public Optional<String> loadContent(String location) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, Optional<String>> loadAll(Collection<String> locations) {
+            batches.add(List.copyOf(locations));
+            return locations.stream()
+                .collect(Collectors.toMap(Function.identity(), Optional::of));
+        }
+    }
+
+    private static class HangingResolver implements SecretResolver {
+
+        @Override
+        public Optional<String> loadContent(String location) {
+            while ("hang".equals(location)) {
+                LockSupport.park();
+            }
+            return Optional.of(location);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(SecretsEnvironment.PARALLEL_PROPERTY);
+        System.clearProperty(SecretsEnvironment.PARALLELISM_PROPERTY);
+        System.clearProperty(SecretsEnvironment.LAZY_PROPERTY);
+    }
 }
@@ -0,0 +1,49 @@
+package de.vinado.boot.secrets;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SecretsMetricsBinderTest {
+
+    private SecretsMetrics metrics;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new SecretsMetrics().withTag("processor", "foo");
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void earlierMeasurements_shouldBeRegistered() {
+        metrics.recordLoad(Duration.ofMillis(10));
+        metrics.recordOutcome(SecretsMetrics.Outcome.RESOLVED);
+        metrics.recordOutcome(SecretsMetrics.Outcome.RESOLVED);
+        metrics.recordSize(16);
+        metrics.recordSize(8);
+
+        new SecretsMetricsBinder(metrics).bindTo(registry);
+
+        assertEquals(10, registry.get("secrets.load").tag("processor", "foo").functionTimer()
+            .totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2, registry.get("secrets.locations").tag("outcome", "resolved").functionCounter().count());
+        assertEquals(24, registry.get("secrets.size").functionCounter().count());
+        assertEquals(16, registry.get("secrets.size.max").gauge().value());
+    }
+
+    @Test
+    void laterMeasurements_shouldBeRecorded() {
+        new SecretsMetricsBinder(metrics).bindTo(registry);
+
+        metrics.recordReload(Duration.ofMillis(3));
+
+        assertEquals(1, registry.get("secrets.reload").functionTimer().count());
+    }
+}
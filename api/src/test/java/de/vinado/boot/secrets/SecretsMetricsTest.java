@@ -0,0 +1,103 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecretsMetricsTest {
+
+    private SecretsMetrics metrics;
+    private List<SecretsMetrics.Aggregate> aggregates;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new SecretsMetrics();
+        aggregates = new ArrayList<>();
+    }
+
+    @Test
+    void aggregatesBeforeSubscription_shouldBeReplayed() {
+        metrics.recordIndex(Duration.ofMillis(5));
+        metrics.recordOutcome(SecretsMetrics.Outcome.RESOLVED);
+
+        metrics.subscribe(aggregates::add);
+
+        assertEquals(List.of("secrets.index", "secrets.locations"), names());
+    }
+
+    @Test
+    void aggregatesAfterSubscription_shouldBeForwarded() {
+        metrics.subscribe(aggregates::add);
+
+        metrics.recordSize(42);
+
+        assertEquals(1, aggregates.size());
+        assertEquals(42, aggregates.get(0).total());
+    }
+
+    @Test
+    void measurementsOfSameMeter_shouldBeAggregated() {
+        for (int i = 1; i <= 2048; i++) {
+            metrics.recordSize(i);
+        }
+
+        metrics.subscribe(aggregates::add);
+
+        assertEquals(1, aggregates.size());
+        assertEquals(2048, aggregates.get(0).count());
+        assertEquals(2048 * 2049 / 2, aggregates.get(0).total());
+        assertEquals(2048, aggregates.get(0).max());
+    }
+
+    @Test
+    void measurementsAfterSubscription_shouldUpdateAggregate() {
+        metrics.recordOutcome(SecretsMetrics.Outcome.EMPTY);
+        metrics.subscribe(aggregates::add);
+
+        metrics.recordOutcome(SecretsMetrics.Outcome.EMPTY);
+
+        assertEquals(1, aggregates.size());
+        assertEquals(2, aggregates.get(0).count());
+    }
+
+    @Test
+    void taggedView_shouldShareAggregates() {
+        metrics.withTag("processor", "foo").recordOutcome(SecretsMetrics.Outcome.MISSING);
+
+        metrics.subscribe(aggregates::add);
+
+        assertEquals(List.of("processor", "foo", "outcome", "missing"), aggregates.get(0).tags());
+    }
+
+    @Test
+    void bootstrapContext_shouldShareInstanceAndRegisterBeans() {
+        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+        SecretsMetrics shared = SecretsMetrics.get(bootstrapContext);
+
+        assertSame(shared, SecretsMetrics.get(bootstrapContext));
+        assertNotSame(shared, SecretsMetrics.get(null));
+
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext()) {
+            bootstrapContext.close(applicationContext);
+
+            assertSame(shared, applicationContext.getBeanFactory().getBean(SecretsMetrics.BEAN_NAME));
+            assertTrue(applicationContext.getBeanFactory().containsBean(SecretsMetrics.BINDER_BEAN_NAME));
+        }
+    }
+
+    private List<String> names() {
+        return aggregates.stream()
+            .map(SecretsMetrics.Aggregate::name)
+            .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecretsReportTest {
+
+    private SecretsReport report;
+
+    @BeforeEach
+    void setUp() {
+        report = new SecretsReport();
+    }
+
+    @Test
+    void entry_shouldBeRecordedWithoutValue() {
+        report.withProcessor("foo").recordEntry("spring.mail.password", "file:/run/secrets/password",
+            Optional.of("pässword"), Duration.ofMillis(2));
+
+        SecretsReport.Entry entry = report.getEntries().get(0);
+        assertEquals(new SecretsReport.Entry("spring.mail.password", "foo", "file:/run/secrets/password", 9,
+            Duration.ofMillis(2), List.of()), entry);
+    }
+
+    @Test
+    void missingContent_shouldNotBeRecorded() {
+        report.recordEntry("spring.mail.password", "file:/run/secrets/password", Optional.empty(), Duration.ZERO);
+
+        assertTrue(report.getEntries().isEmpty());
+    }
+
+    @Test
+    void laterEntry_shouldRecordOverriddenSources() {
+        report.withProcessor("foo").recordEntry("spring.mail.password", "file:/a", Optional.of("a"), Duration.ZERO);
+        report.withProcessor("bar").recordEntry("spring.mail.password", "file:/b", Optional.of("b"), Duration.ZERO);
+        report.withProcessor("baz").recordEntry("spring.mail.password", "file:/c", Optional.of("c"), Duration.ZERO);
+
+        SecretsReport.Entry entry = report.getEntries().get(0);
+        assertEquals(1, report.getEntries().size());
+        assertEquals("baz", entry.processor());
+        assertEquals(List.of(new SecretsReport.Source("foo", "file:/a"), new SecretsReport.Source("bar", "file:/b")),
+            entry.overrides());
+    }
+
+    @Test
+    void phases_shouldBeRecordedInOrder() {
+        report.withProcessor("foo").recordPhase("index", Duration.ofMillis(1));
+        report.withProcessor("foo").recordPhase("resolve", Duration.ofMillis(2));
+
+        assertEquals(List.of(new SecretsReport.Phase("foo", "index", Duration.ofMillis(1)),
+            new SecretsReport.Phase("foo", "resolve", Duration.ofMillis(2))), report.getPhases());
+    }
+
+    @Test
+    void timeouts_shouldBeRecordedInOrder() {
+        report.withProcessor("foo").recordTimeout("spring.mail.password", "file:/a", Duration.ofSeconds(1),
+            SecretTimeoutPolicy.SKIP);
+
+        assertEquals(List.of(new SecretsReport.Timeout("spring.mail.password", "foo", "file:/a", Duration.ofSeconds(1),
+            SecretTimeoutPolicy.SKIP)), report.getTimeouts());
+        assertTrue(report.getEntries().isEmpty());
+    }
+
+    @Test
+    void bootstrapContext_shouldShareInstanceAndRegisterBeans() {
+        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+        SecretsReport shared = SecretsReport.get(bootstrapContext);
+
+        assertSame(shared, SecretsReport.get(bootstrapContext));
+        assertNotSame(shared, SecretsReport.get(null));
+
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext()) {
+            bootstrapContext.close(applicationContext);
+
+            assertSame(shared, applicationContext.getBeanFactory().getBean(SecretsReport.BEAN_NAME));
+            assertInstanceOf(SecretsEndpoint.class,
+                applicationContext.getBeanFactory().getBean(SecretsReport.ENDPOINT_BEAN_NAME));
+        }
+    }
+}
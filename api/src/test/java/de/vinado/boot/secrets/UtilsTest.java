@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.log.LogMessage;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -86,6 +87,15 @@ class UtilsTest {
         assertEquals("spring.datasource.username", substring);
     }
 
+    @Test
+    void utf8Length_shouldMatchEncodedLength() {
+        String highSurrogate = String.valueOf((char) 0xd83d);
+        String lowSurrogate = String.valueOf((char) 0xdd11);
+        for (String value : List.of("", "foo", "föö", "€", "🔑", highSurrogate, lowSurrogate + "x")) {
+            assertEquals(value.getBytes(StandardCharsets.UTF_8).length, Utils.utf8Length(value));
+        }
+    }
+
     @Test
     void endsWith() {
         boolean startsWith = Utils.endsWith("_FILE").test("SPRING_DATASOURCE_USERNAME_FILE");
@@ -0,0 +1,73 @@
+package de.vinado.boot.secrets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Measures how long {@link CompositePropertyIndexSupplier} takes to merge the indices of its delegates.
+ * </p><p>
+ * Consecutive delegates share half of their property names, so that the merge function is applied as well.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompositePropertyIndexSupplierBenchmark {
+
+    @Param({"4", "16"})
+    public int delegateCount;
+
+    @Param({"100", "10000"})
+    public int propertyCount;
+
+    private CompositePropertyIndexSupplier overriding;
+    private CompositePropertyIndexSupplier keeping;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<PropertyIndexSupplier> delegates = new ArrayList<>();
+        for (int i = 0; i < delegateCount; i++) {
+            Map<String, String> index = new HashMap<>();
+            int offset = i * propertyCount / 2;
+            for (int j = offset; j < offset + propertyCount; j++) {
+                index.put("spring.datasource.property" + j, "file:/run/secrets/" + i + "/property" + j);
+            }
+            delegates.add(() -> index);
+        }
+
+        overriding = CompositePropertyIndexSupplier.overriding().addAll(delegates).build();
+        keeping = CompositePropertyIndexSupplier.keeping().addAll(delegates).build();
+    }
+
+    @Benchmark
+    public Map<String, String> overriding() {
+        return overriding.get();
+    }
+
+    @Benchmark
+    public Map<String, String> keeping() {
+        return keeping.get();
+    }
+}
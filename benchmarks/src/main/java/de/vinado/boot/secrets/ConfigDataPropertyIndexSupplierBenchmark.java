@@ -0,0 +1,70 @@
+package de.vinado.boot.secrets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Measures how long {@link ConfigDataPropertyIndexSupplier} takes to index many {@link MapPropertySource}s.
+ * </p><p>
+ * Each source holds {@link #propertyCount} properties, one percent of which start with
+ * <em>secrets.file.properties</em>.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigDataPropertyIndexSupplierBenchmark {
+
+    @Param({"10", "100"})
+    public int sourceCount;
+
+    @Param({"100", "1000"})
+    public int propertyCount;
+
+    private ConfigDataPropertyIndexSupplier supplier;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        MutablePropertySources sources = environment.getPropertySources();
+        for (int i = 0; i < sourceCount; i++) {
+            Map<String, Object> properties = new HashMap<>();
+            for (int j = 0; j < propertyCount; j++) {
+                String prefix = 0 == j % 100 ? "secrets.file.properties." : "";
+                properties.put(prefix + "spring.datasource.property" + j, "file:/run/secrets/property" + j);
+            }
+            sources.addLast(new MapPropertySource("benchmark" + i, properties));
+        }
+
+        supplier = new ConfigDataPropertyIndexSupplier(Supplier::get, environment, "file");
+    }
+
+    @Benchmark
+    public Map<String, String> get() {
+        return supplier.get();
+    }
+}
@@ -0,0 +1,68 @@
+package de.vinado.boot.secrets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * <p>
+ * Measures the decryption throughput of {@link DecryptingSecretResolver}, which reuses one {@link Cipher} per thread,
+ * against creating a new cipher for every secret.
+ * </p><p>
+ * Both decrypt the same short envelope on four threads, which is what loading secrets in parallel does.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class DecryptingSecretResolverBenchmark {
+
+    private SecretKey key;
+    private String envelope;
+    private DecryptingSecretResolver resolver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        key = DecryptingSecretResolver.createKey("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+        envelope = DecryptingSecretResolver.encrypt("pässword1234".getBytes(StandardCharsets.UTF_8), key);
+        resolver = new DecryptingSecretResolver(location -> Optional.of(envelope), key);
+    }
+
+    @Benchmark
+    public Optional<String> pooledCipher() {
+        return resolver.loadContent("file:/run/secrets/password");
+    }
+
+    @Benchmark
+    public String cipherPerSecret() throws GeneralSecurityException {
+        byte[] payload = Base64.getMimeDecoder().decode(envelope.substring(DecryptingSecretResolver.ENVELOPE_PREFIX
+            .length()));
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, payload, 0, 12));
+        return new String(cipher.doFinal(payload, 12, payload.length - 12), StandardCharsets.UTF_8).trim();
+    }
+}
@@ -0,0 +1,73 @@
+package de.vinado.boot.secrets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Measures how long {@link DefaultSecretResolver} takes to load a single secret file of {@link #size} characters.
+ * </p><p>
+ * The {@link FileSecretResolver} is measured alongside, since it is the resolver used by default.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultSecretResolverBenchmark {
+
+    @Param({"32", "4096", "1048576"})
+    public int size;
+
+    private Path file;
+    private String location;
+    private SecretResolver defaultResolver;
+    private SecretResolver fileResolver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("secrets-benchmark", null);
+        Files.writeString(file, "s".repeat(size) + System.lineSeparator());
+        location = file.toUri().toString();
+
+        defaultResolver = new DefaultSecretResolver(new DefaultResourceLoader());
+        fileResolver = new FileSecretResolver(defaultResolver);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Optional<String> defaultResolver() {
+        return defaultResolver.loadContent(location);
+    }
+
+    @Benchmark
+    public Optional<String> fileResolver() {
+        return fileResolver.loadContent(location);
+    }
+}
@@ -0,0 +1,84 @@
+package de.vinado.boot.secrets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Measures how long {@link EnvironmentPropertyIndexSupplier} takes to index a large synthetic system environment.
+ * </p><p>
+ * Every tenth variable carries the <em>_SECRET</em> suffix and is therefore indexed. Each {@link #lookup} is measured,
+ * so that looking up values through the property source chain can be compared with reading the system environment
+ * directly.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvironmentPropertyIndexSupplierBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int variableCount;
+
+    @Param({"PROPERTY_RESOLVER", "SYSTEM_ENVIRONMENT", "SYSTEM_ENVIRONMENT_WITH_PLACEHOLDERS"})
+    public EnvironmentPropertyIndexSupplier.Lookup lookup;
+
+    private EnvironmentPropertyIndexSupplier supplier;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> variables = new HashMap<>();
+        for (int i = 0; i < variableCount; i++) {
+            String suffix = 0 == i % 10 ? "_SECRET" : "";
+            variables.put("SPRING_DATASOURCE_PROPERTY" + i + suffix, "/run/secrets/property" + i);
+        }
+
+        SyntheticEnvironment environment = new SyntheticEnvironment(variables);
+        supplier = new EnvironmentPropertyIndexSupplier(Supplier::get, environment, "_SECRET", lookup);
+    }
+
+    @Benchmark
+    public Map<String, String> get() {
+        return supplier.get();
+    }
+
+    private static class SyntheticEnvironment extends StandardEnvironment {
+
+        private Map<String, Object> systemEnvironment;
+
+        SyntheticEnvironment(Map<String, Object> systemEnvironment) {
+            this.systemEnvironment = Collections.unmodifiableMap(systemEnvironment);
+            getPropertySources().replace(SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                new SystemEnvironmentPropertySource(SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, this.systemEnvironment));
+        }
+
+        @Override
+        public Map<String, Object> getSystemEnvironment() {
+            // invoked by the super constructor before the synthetic variables are assigned
+            return null == systemEnvironment ? super.getSystemEnvironment() : systemEnvironment;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package de.vinado.boot.secrets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Measures the lookup throughput of {@link SecretPropertiesPropertySource} against a {@link MapPropertySource} backed
+ * by a {@link HashMap}, which is what <em>secretProperties</em> used to be.
+ * </p><p>
+ * Most properties an application requests are not secrets, so contained and absent names are looked up separately.
+ * The names are copied, so that lookups can't match by reference.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecretPropertiesLookupBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int propertyCount;
+
+    private MapPropertySource mapSource;
+    private SecretPropertiesPropertySource secretSource;
+    private String[] containedNames;
+    private String[] absentNames;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        containedNames = new String[propertyCount];
+        absentNames = new String[propertyCount];
+        for (int i = 0; i < propertyCount; i++) {
+            String name = "spring.datasource.property" + i;
+            properties.put(name, "secret" + i);
+            containedNames[i] = new String(name.toCharArray());
+            absentNames[i] = "spring.mail.property" + i;
+        }
+        mapSource = new MapPropertySource(SecretPropertiesPropertySource.NAME, properties);
+        secretSource = new SecretPropertiesPropertySource(properties);
+    }
+
+    private int next() {
+        index = index + 1 < propertyCount ? index + 1 : 0;
+        return index;
+    }
+
+    @Benchmark
+    public Object mapContained() {
+        return mapSource.getProperty(containedNames[next()]);
+    }
+
+    @Benchmark
+    public Object secretContained() {
+        return secretSource.getProperty(containedNames[next()]);
+    }
+
+    @Benchmark
+    public Object mapAbsent() {
+        return mapSource.getProperty(absentNames[next()]);
+    }
+
+    @Benchmark
+    public Object secretAbsent() {
+        return secretSource.getProperty(absentNames[next()]);
+    }
+
+    @Benchmark
+    public String[] mapPropertyNames() {
+        return mapSource.getPropertyNames();
+    }
+
+    @Benchmark
+    public String[] secretPropertyNames() {
+        return secretSource.getPropertyNames();
+    }
+}
@@ -0,0 +1,81 @@
+package de.vinado.boot.secrets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Measures how long {@link SecretPropertiesPropertySource#merge(Map, MutablePropertySources)} takes to merge secret
+ * properties into the environment.
+ * </p><p>
+ * The existing benchmark merges into a <em>secretProperties</em> source of the same size, like every post-processor
+ * after the first one does. The existing source is left untouched by the merge, so it is shared between invocations.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecretPropertiesPropertySourceBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int propertyCount;
+
+    private Map<String, Object> properties;
+    private SecretPropertiesPropertySource existingSource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        properties = new HashMap<>();
+        Map<String, Object> existingProperties = new HashMap<>();
+        for (int i = 0; i < propertyCount; i++) {
+            properties.put("spring.datasource.property" + i, "secret" + i);
+            existingProperties.put("spring.mail.property" + i, "secret" + i);
+        }
+        existingSource = new SecretPropertiesPropertySource(existingProperties);
+    }
+
+    @Benchmark
+    public MutablePropertySources absent() {
+        MutablePropertySources sources = createPropertySources();
+        SecretPropertiesPropertySource.merge(properties, sources);
+        return sources;
+    }
+
+    @Benchmark
+    public MutablePropertySources existing() {
+        MutablePropertySources sources = createPropertySources();
+        sources.addLast(existingSource);
+        SecretPropertiesPropertySource.merge(properties, sources);
+        return sources;
+    }
+
+    private static MutablePropertySources createPropertySources() {
+        MutablePropertySources sources = new MutablePropertySources();
+        sources.addLast(new MapPropertySource(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+            Collections.emptyMap()));
+        return sources;
+    }
+}
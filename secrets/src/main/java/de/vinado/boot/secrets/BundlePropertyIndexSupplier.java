@@ -0,0 +1,45 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.core.env.PropertyResolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * A supplier for creating a property index over the entries of all bundles listed in <em>secrets.bundle.locations</em>.
+ * Every flattened property name of a bundle is mapped to the location of its entry, see
+ * {@link SecretBundleResolver#getEntryLocation(String, String)}. Entries of later bundles override entries of earlier
+ * ones.
+ * </p><p>
+ * The bundles are parsed by the given {@link SecretBundleResolver}, which is supposed to resolve the entries as well.
+ * That way every bundle is read and parsed only once.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class BundlePropertyIndexSupplier implements PropertyIndexSupplier {
+
+    public static final String LOCATIONS_PROPERTY = "secrets.bundle.locations";
+
+    private final PropertyResolver propertyResolver;
+    private final SecretBundleResolver resolver;
+
+    public BundlePropertyIndexSupplier(PropertyResolver propertyResolver, SecretBundleResolver resolver) {
+        this.propertyResolver = propertyResolver;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Map<String, String> get() {
+        String[] locations = propertyResolver.getProperty(LOCATIONS_PROPERTY, String[].class, new String[0]);
+        Map<String, String> index = new LinkedHashMap<>();
+        for (String location : locations) {
+            String bundleLocation = location.strip();
+            for (String propertyName : resolver.getProperties(bundleLocation).keySet()) {
+                index.put(propertyName, SecretBundleResolver.getEntryLocation(bundleLocation, propertyName));
+            }
+        }
+        return index;
+    }
+}
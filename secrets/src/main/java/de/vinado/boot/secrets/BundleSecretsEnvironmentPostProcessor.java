@@ -0,0 +1,67 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+
+/**
+ * <p>
+ * An environment post-processor that expands structured bundles into many properties. List the bundles in
+ * <em>secrets.bundle.locations</em>. Each bundle is read and parsed once. Its format is determined by the file
+ * extension: <em>.properties</em>, <em>.yml</em>, <em>.yaml</em>, <em>.json</em> or <em>.env</em>. Bundles without a
+ * known extension, like Docker secrets, are parsed with <em>secrets.bundle.format</em>, which defaults to
+ * {@link SecretBundleFormat#PROPERTIES}.
+ * </p><p>
+ * This post-processor runs before all other post-processors of this collection, so that single secrets override
+ * bundle entries. It is not part of {@link CompositeSecretsEnvironmentPostProcessor}.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public final class BundleSecretsEnvironmentPostProcessor extends SecretsEnvironmentPostProcessor {
+
+    public static final int ORDER = ConfigDataEnvironmentPostProcessor.ORDER + 99;
+    public static final String FORMAT_PROPERTY = "secrets.bundle.format";
+    public static final SecretBundleFormat DEFAULT_FORMAT = SecretBundleFormat.PROPERTIES;
+
+    private final DeferredLogFactory logFactory;
+
+    BundleSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this(logFactory, null);
+    }
+
+    public BundleSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory,
+                                                 @Nullable ConfigurableBootstrapContext bootstrapContext) {
+        super(logFactory, bootstrapContext);
+        this.logFactory = logFactory;
+    }
+
+    @Override
+    protected SecretsEnvironment createSecretsEnvironment(ConfigurableEnvironment environment,
+                                                          ResourceLoader resourceLoader) {
+        SecretBundleResolver resolver = createBundleResolver(environment, resourceLoader);
+        PropertyIndexSupplier indexSupplier = new BundlePropertyIndexSupplier(environment, resolver);
+        return new SecretsEnvironment(logFactory, environment, resolver, indexSupplier);
+    }
+
+    @Override
+    protected PropertyIndexSupplier getPropertyIndexSupplier(ConfigurableEnvironment environment) {
+        SecretBundleResolver resolver = createBundleResolver(environment, new DefaultResourceLoader());
+        return new BundlePropertyIndexSupplier(environment, resolver);
+    }
+
+    private SecretBundleResolver createBundleResolver(ConfigurableEnvironment environment,
+                                                      ResourceLoader resourceLoader) {
+        SecretBundleFormat format = environment.getProperty(FORMAT_PROPERTY, SecretBundleFormat.class, DEFAULT_FORMAT);
+        return new SecretBundleResolver(getSecretResolver(resourceLoader, environment), format);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
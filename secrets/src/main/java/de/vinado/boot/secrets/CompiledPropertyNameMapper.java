@@ -0,0 +1,50 @@
+package de.vinado.boot.secrets;
+
+import java.util.Locale;
+
+/**
+ * The default {@link PropertyNameMapper}. ASCII names are converted in a single pass over a char array. Names
+ * containing other characters fall back to {@link String#toLowerCase(Locale)}, which handles case mappings that change
+ * the length of a name.
+ *
+ * @author Vincent Nadoll
+ */
+final class CompiledPropertyNameMapper implements PropertyNameMapper {
+
+    private static final char ASCII_LIMIT = 0x80;
+
+    private final char separator;
+    private final int suffixLength;
+
+    CompiledPropertyNameMapper(char separator, int suffixLength) {
+        this.separator = separator;
+        this.suffixLength = suffixLength;
+    }
+
+    @Override
+    public String map(String name) {
+        int length = name.length() - suffixLength;
+        char[] characters = new char[length];
+        for (int i = 0; i < length; i++) {
+            char character = name.charAt(i);
+            if (character >= ASCII_LIMIT) {
+                return mapUnicode(name, length);
+            }
+
+            if (character == separator) {
+                characters[i] = '.';
+            } else if (character >= 'A' && character <= 'Z') {
+                characters[i] = (char) (character + ('a' - 'A'));
+            } else {
+                characters[i] = character;
+            }
+        }
+        return new String(characters);
+    }
+
+    private String mapUnicode(String name, int length) {
+        return name.substring(0, length)
+            .replace(separator, '.')
+            .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,115 @@
+package de.vinado.boot.secrets;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.log.LogMessage;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * An environment post-processor that combines all post-processors of this collection into a single pass. Instead of
+ * resolving and merging secrets once per post-processor, the property indexes of all delegates are merged in memory
+ * according to the documented order of execution. Thus every location is read once and <em>secretProperties</em> is
+ * published once.
+ * </p><p>
+ * Use this post-processor <em>instead of</em> the individual ones. The location of the post-processor that would have
+ * been executed last wins. The locations it overrides are kept as fallback, so that a location without content falls
+ * back to the location of the post-processor executed before, like the individual post-processors would have.
+ * </p><p>
+ * Set <em>secrets.index.parallel</em> to {@literal true} in order to build the indexes of the delegates concurrently.
+ * They are merged in the documented order nonetheless. Every property provided by more than one delegate is logged at
+ * debug level along with the delegate whose location wins.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public final class CompositeSecretsEnvironmentPostProcessor extends SecretsEnvironmentPostProcessor {
+
+    public static final int ORDER = FilenameSecretsEnvironmentPostProcessor.ORDER;
+    public static final String PARALLEL_PROPERTY = "secrets.index.parallel";
+
+    private final Log log;
+    private final DeferredLogFactory logFactory;
+    private final List<SecretsEnvironmentPostProcessor> delegates;
+
+    CompositeSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this(logFactory, null);
+    }
+
+    public CompositeSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory,
+                                                    @Nullable ConfigurableBootstrapContext bootstrapContext) {
+        super(logFactory, bootstrapContext);
+        this.log = logFactory.getLog(getClass());
+        this.logFactory = logFactory;
+        this.delegates = List.of(
+            new FilenameSecretsEnvironmentPostProcessor(logFactory, bootstrapContext),
+            new FilenameConfigDataSecretsEnvironmentPostProcessor(logFactory, bootstrapContext),
+            new EnvironmentConfigDataSecretsEnvironmentPostProcessor(logFactory, bootstrapContext),
+            new EnvironmentSecretsPropertyEnvironmentPostProcessor(logFactory, bootstrapContext)
+        );
+    }
+
+    @Override
+    protected SecretsEnvironment createSecretsEnvironment(ConfigurableEnvironment environment,
+                                                          ResourceLoader resourceLoader) {
+        SecretResolver secretResolver = getSecretResolver(resourceLoader, environment);
+        Map<String, List<String>> fallbackLocations = new HashMap<>();
+        PropertyIndexSupplier indexSupplier = getPropertyIndexSupplier(environment, conflict -> fallbackLocations
+            .computeIfAbsent(conflict.propertyName(), propertyName -> new LinkedList<>())
+            .add(0, conflict.discardedLocation()));
+        SecretsEnvironment secretsEnvironment = new SecretsEnvironment(logFactory, environment, secretResolver,
+            indexSupplier);
+        secretsEnvironment.setFallbackLocations(propertyName -> fallbackLocations.getOrDefault(propertyName,
+            List.of()));
+        return secretsEnvironment;
+    }
+
+    @Override
+    protected PropertyIndexSupplier getPropertyIndexSupplier(ConfigurableEnvironment environment) {
+        return getPropertyIndexSupplier(environment, conflict -> {
+        });
+    }
+
+    private PropertyIndexSupplier getPropertyIndexSupplier(ConfigurableEnvironment environment,
+                                                           Consumer<CompositePropertyIndexSupplier.Conflict> listener) {
+        List<PropertyIndexSupplier> suppliers = new ArrayList<>(delegates.size());
+        Map<PropertyIndexSupplier, SecretsEnvironmentPostProcessor> owners = new IdentityHashMap<>();
+        for (SecretsEnvironmentPostProcessor delegate : delegates) {
+            PropertyIndexSupplier supplier = delegate.getPropertyIndexSupplier(environment);
+            suppliers.add(supplier);
+            owners.put(supplier, delegate);
+        }
+
+        CompositePropertyIndexSupplier.Builder builder = CompositePropertyIndexSupplier.overriding()
+            .addAll(suppliers)
+            .onConflict(conflict -> {
+                log.debug(LogMessage.format("Location of [%s] set by %s wins over %s", conflict.propertyName(),
+                    getName(owners.get(conflict.winner())), getName(owners.get(conflict.loser()))));
+                listener.accept(conflict);
+            });
+        if (environment.getProperty(PARALLEL_PROPERTY, Boolean.class, false)) {
+            builder.concurrent(Utils.newDaemonExecutor("secrets-index-", delegates.size() - 1));
+        }
+        return builder.build();
+    }
+
+    private static String getName(SecretsEnvironmentPostProcessor postProcessor) {
+        return postProcessor.getClass().getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
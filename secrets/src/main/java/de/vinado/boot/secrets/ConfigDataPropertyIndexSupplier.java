@@ -3,18 +3,15 @@ package de.vinado.boot.secrets;
 import org.apache.commons.logging.Log;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
-import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
-import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.PropertySourcesPropertyResolver;
 import org.springframework.util.Assert;
 
-import java.util.Map;
-import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
-import static de.vinado.boot.secrets.Utils.startsWith;
 import static de.vinado.boot.secrets.Utils.substring;
 import static de.vinado.boot.secrets.Utils.testAndLogFailure;
 
@@ -24,41 +21,49 @@ import static de.vinado.boot.secrets.Utils.testAndLogFailure;
  * application.properties (or similar). These properties are prefixed with <em>secrets.file.properties</em>.
  * </p><p>
  * <em>secrets.&lt;infix&gt;.properties.spring.mail.host</em> → <em>spring.mail.host</em>
+ * </p><p>
+ * Prefixed properties are looked up in a {@link PropertyNamePrefixIndex} over all enumerable property sources. Pass a
+ * supplier of a shared index in order to build it once for several suppliers.
  * </p>
  *
  * @author Vincent Nadoll
  */
-public class ConfigDataPropertyIndexSupplier implements PropertyIndexSupplier {
+public class ConfigDataPropertyIndexSupplier implements StreamingPropertyIndexSupplier {
 
     private final Log log;
     private final ConfigurableEnvironment environment;
     private final String prefix;
+    private final Supplier<PropertyNamePrefixIndex> prefixIndexSupplier;
 
     public ConfigDataPropertyIndexSupplier(DeferredLogFactory logFactory, ConfigurableEnvironment environment,
                                            String propertyInfix) {
+        this(logFactory, environment, propertyInfix,
+            () -> PropertyNamePrefixIndex.of(environment.getPropertySources()));
+    }
+
+    public ConfigDataPropertyIndexSupplier(DeferredLogFactory logFactory, ConfigurableEnvironment environment,
+                                           String propertyInfix,
+                                           Supplier<PropertyNamePrefixIndex> prefixIndexSupplier) {
         Assert.notNull(logFactory, "Log factory must not be null");
         Assert.notNull(environment, "Environment must not be null");
         Assert.hasText(propertyInfix, "Property infix must not be null or empty");
+        Assert.notNull(prefixIndexSupplier, "Prefix index supplier must not be null");
 
         this.log = logFactory.getLog(getClass());
         this.environment = environment;
         this.prefix = "secrets." + propertyInfix + ".properties";
+        this.prefixIndexSupplier = prefixIndexSupplier;
     }
 
     @Override
-    public Map<String, String> get() {
+    public void forEach(BiConsumer<String, String> action) {
         MutablePropertySources sources = environment.getPropertySources();
         PropertySourcesPropertyResolver resolver = new PropertySourcesPropertyResolver(sources);
-        return sources.stream()
-            .filter(MapPropertySource.class::isInstance)
-            .map(MapPropertySource.class::cast)
-            .map(PropertySource::getSource)
-            .map(Map::keySet)
-            .flatMap(Set::stream)
-            .filter(startsWith(prefix))
+        UnaryOperator<String> toPropertyName = substring(prefix.length() + 1);
+        prefixIndexSupplier.get().getPropertyNames(prefix).stream()
             .filter(testAndLogFailure(this::isValid, log::warn, "Property [%s] is too short to assign.",
                 Function.identity()))
-            .collect(Collectors.toMap(substring(prefix.length() + 1), resolver::getProperty));
+            .forEach(property -> action.accept(toPropertyName.apply(property), resolver.getProperty(property)));
     }
 
     private boolean isValid(String property) {
@@ -1,7 +1,9 @@
 package de.vinado.boot.secrets;
 
+import org.springframework.boot.ConfigurableBootstrapContext;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.lang.Nullable;
 
 /**
  * An environment post-processor that resolves <em>secrets.file.properties</em> from the application.properties file and
@@ -16,14 +18,20 @@ public final class EnvironmentConfigDataSecretsEnvironmentPostProcessor extends
 
     private final DeferredLogFactory logFactory;
 
-    public EnvironmentConfigDataSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
-        super(logFactory);
+    EnvironmentConfigDataSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this(logFactory, null);
+    }
+
+    public EnvironmentConfigDataSecretsEnvironmentPostProcessor(
+        DeferredLogFactory logFactory, @Nullable ConfigurableBootstrapContext bootstrapContext) {
+        super(logFactory, bootstrapContext);
         this.logFactory = logFactory;
     }
 
     @Override
     protected PropertyIndexSupplier getPropertyIndexSupplier(ConfigurableEnvironment environment) {
-        return new ConfigDataPropertyIndexSupplier(logFactory, environment, CONFIG_DATA_INFIX)
+        return new ConfigDataPropertyIndexSupplier(logFactory, environment, CONFIG_DATA_INFIX,
+            () -> PropertyNamePrefixIndex.get(getBootstrapContext(), environment.getPropertySources()))
             .substituteValues(environment);
     }
 
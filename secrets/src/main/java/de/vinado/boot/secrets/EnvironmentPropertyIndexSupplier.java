@@ -7,7 +7,8 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
 
 import static de.vinado.boot.secrets.Utils.endsWith;
 
@@ -22,14 +23,19 @@ import static de.vinado.boot.secrets.Utils.endsWith;
  * </p><p>
  * The suffix should contain at least one character. Otherwise every environment property will be present in the index
  * which might be a security risk.
+ * </p><p>
+ * By default, every value is looked up through the environment's whole property source chain, which resolves
+ * placeholders as well. Use {@link Lookup#SYSTEM_ENVIRONMENT} to read the values straight from the system environment
+ * in a single pass instead.
  * </p>
  *
  * @author Vincent Nadoll
  */
-public class EnvironmentPropertyIndexSupplier implements PropertyIndexSupplier {
+public class EnvironmentPropertyIndexSupplier implements StreamingPropertyIndexSupplier {
 
     private final ConfigurableEnvironment environment;
     private final String suffix;
+    private final Lookup lookup;
 
     public EnvironmentPropertyIndexSupplier(DeferredLogFactory logFactory, ConfigurableEnvironment environment) {
         this(logFactory, environment, "");
@@ -37,12 +43,19 @@ public class EnvironmentPropertyIndexSupplier implements PropertyIndexSupplier {
 
     public EnvironmentPropertyIndexSupplier(DeferredLogFactory logFactory, ConfigurableEnvironment environment,
                                             String suffix) {
+        this(logFactory, environment, suffix, Lookup.PROPERTY_RESOLVER);
+    }
+
+    public EnvironmentPropertyIndexSupplier(DeferredLogFactory logFactory, ConfigurableEnvironment environment,
+                                            String suffix, Lookup lookup) {
         Assert.notNull(logFactory, "Log factory must not be null");
         Assert.notNull(environment, "Environment must not be null");
         Assert.notNull(suffix, "Suffix must not be null");
+        Assert.notNull(lookup, "Lookup must not be null");
 
         this.environment = environment;
         this.suffix = suffix;
+        this.lookup = lookup;
 
         Log log = logFactory.getLog(getClass());
         Utils.<String>testAndLogFailure(StringUtils::hasText, log::warn, "Suffix doesn't contain any characters. "
@@ -50,16 +63,63 @@ public class EnvironmentPropertyIndexSupplier implements PropertyIndexSupplier {
     }
 
     @Override
-    public Map<String, String> get() {
-        return environment.getSystemEnvironment().keySet().stream()
+    public void forEach(BiConsumer<String, String> action) {
+        PropertyNameMapper mapper = createPropertyNameMapper();
+        if (Lookup.PROPERTY_RESOLVER != lookup) {
+            forEachInSystemEnvironment(mapper, action);
+            return;
+        }
+
+        UnaryOperator<String> substitute = substitute(environment);
+        environment.getSystemEnvironment().keySet().stream()
             .filter(endsWith(suffix))
             .filter(entry -> StringUtils.hasText(environment.getProperty(entry)))
-            .collect(Collectors.toMap(this::convertToPropertyName, substitute(environment)));
+            .forEach(name -> action.accept(mapper.map(name), substitute.apply(name)));
+    }
+
+    /**
+     * Creates the mapper converting variable names to property names. It is created once per scan. Override this method
+     * in order to plug in custom mapping rules.
+     *
+     * @return a new instance of {@link PropertyNameMapper}; never {@literal null}
+     */
+    protected PropertyNameMapper createPropertyNameMapper() {
+        return PropertyNameMapper.compile('_', suffix);
     }
 
-    private String convertToPropertyName(String propertyName) {
-        String deSuffixed = propertyName.substring(0, propertyName.length() - suffix.length());
-        String property = deSuffixed.replace("_", ".");
-        return property.toLowerCase();
+    private void forEachInSystemEnvironment(PropertyNameMapper mapper, BiConsumer<String, String> action) {
+        boolean resolvePlaceholders = Lookup.SYSTEM_ENVIRONMENT_WITH_PLACEHOLDERS == lookup;
+        for (Map.Entry<String, Object> entry : environment.getSystemEnvironment().entrySet()) {
+            String name = entry.getKey();
+            if (!name.endsWith(suffix) || !(entry.getValue() instanceof String value)) {
+                continue;
+            }
+
+            String location = resolvePlaceholders ? environment.resolvePlaceholders(value) : value;
+            if (StringUtils.hasText(location)) {
+                action.accept(mapper.map(name), location);
+            }
+        }
+    }
+
+    /**
+     * Determines how the value of an environment variable is looked up.
+     */
+    public enum Lookup {
+
+        /**
+         * Looks up every value through the environment's property sources, including placeholder resolution.
+         */
+        PROPERTY_RESOLVER,
+
+        /**
+         * Reads every value straight from the system environment without resolving placeholders.
+         */
+        SYSTEM_ENVIRONMENT,
+
+        /**
+         * Reads every value straight from the system environment and resolves its placeholders.
+         */
+        SYSTEM_ENVIRONMENT_WITH_PLACEHOLDERS
     }
 }
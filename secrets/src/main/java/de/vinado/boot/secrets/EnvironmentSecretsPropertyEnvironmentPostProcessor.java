@@ -1,12 +1,20 @@
 package de.vinado.boot.secrets;
 
+import org.springframework.boot.ConfigurableBootstrapContext;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.lang.Nullable;
 
 import java.util.function.Supplier;
 
 /**
+ * <p>
  * An environment post-processor that resolves every environment variable with a <em>_FILE</em> suffix.
+ * </p><p>
+ * Set <em>secrets.env.direct</em> to {@literal true} in order to read the variables straight from the system
+ * environment in a single pass. Placeholders are not resolved in that case, unless
+ * <em>secrets.env.resolve-placeholders</em> is set to {@literal true} as well.
+ * </p>
  *
  * @author Vincent Nadoll
  */
@@ -14,14 +22,31 @@ public final class EnvironmentSecretsPropertyEnvironmentPostProcessor extends Se
 
     public static final String ENV_VAR_SUFFIX = "_FILE";
     public static final int ORDER = EnvironmentConfigDataSecretsEnvironmentPostProcessor.ORDER + 1;
+    public static final String DIRECT_PROPERTY = "secrets.env.direct";
+    public static final String RESOLVE_PLACEHOLDERS_PROPERTY = "secrets.env.resolve-placeholders";
 
-    public EnvironmentSecretsPropertyEnvironmentPostProcessor(DeferredLogFactory logFactory) {
-        super(logFactory);
+    EnvironmentSecretsPropertyEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this(logFactory, null);
+    }
+
+    public EnvironmentSecretsPropertyEnvironmentPostProcessor(DeferredLogFactory logFactory,
+                                                              @Nullable ConfigurableBootstrapContext bootstrapContext) {
+        super(logFactory, bootstrapContext);
     }
 
     @Override
     protected PropertyIndexSupplier getPropertyIndexSupplier(ConfigurableEnvironment environment) {
-        return new EnvironmentPropertyIndexSupplier(Supplier::get, environment, ENV_VAR_SUFFIX);
+        return new EnvironmentPropertyIndexSupplier(Supplier::get, environment, ENV_VAR_SUFFIX, getLookup(environment));
+    }
+
+    private static EnvironmentPropertyIndexSupplier.Lookup getLookup(ConfigurableEnvironment environment) {
+        if (!environment.getProperty(DIRECT_PROPERTY, Boolean.class, false)) {
+            return EnvironmentPropertyIndexSupplier.Lookup.PROPERTY_RESOLVER;
+        }
+
+        return environment.getProperty(RESOLVE_PLACEHOLDERS_PROPERTY, Boolean.class, false)
+            ? EnvironmentPropertyIndexSupplier.Lookup.SYSTEM_ENVIRONMENT_WITH_PLACEHOLDERS
+            : EnvironmentPropertyIndexSupplier.Lookup.SYSTEM_ENVIRONMENT;
     }
 
     @Override
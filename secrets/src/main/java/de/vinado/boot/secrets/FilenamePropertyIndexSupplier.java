@@ -6,17 +6,12 @@ import org.apache.commons.logging.Log;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.PropertyResolver;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import static de.vinado.boot.secrets.Utils.testAndLogFailure;
@@ -34,12 +29,12 @@ import static de.vinado.boot.secrets.Utils.testAndLogFailure;
  *
  * @author Vincent Nadoll
  */
-public class FilenamePropertyIndexSupplier implements PropertyIndexSupplier {
+public class FilenamePropertyIndexSupplier implements StreamingPropertyIndexSupplier {
 
     public static final String BASE_DIR_PROPERTY = "secrets.file.base-dir";
     public static final String SEPARATOR_PROPERTY = "secrets.file.separator";
     public static final Separator DEFAULT_SEPARATOR = Separator.DOT;
-    private static final String DEFAULT_BASE_DIR_PROPERTY = "/run/secrets";
+    public static final String DEFAULT_BASE_DIR = "/run/secrets";
 
     private final Log log;
     private final PropertyResolver propertyResolver;
@@ -50,17 +45,30 @@ public class FilenamePropertyIndexSupplier implements PropertyIndexSupplier {
     }
 
     @Override
-    public Map<String, String> get() {
-        String baseDir = propertyResolver.getProperty(BASE_DIR_PROPERTY, DEFAULT_BASE_DIR_PROPERTY);
+    public void forEach(BiConsumer<String, String> action) {
+        Path baseDir = Paths.get(propertyResolver.getProperty(BASE_DIR_PROPERTY, DEFAULT_BASE_DIR));
+        if (!Files.isDirectory(baseDir)) {
+            return;
+        }
+
         Separator separator = getSeparator();
-        return Optional.of(baseDir)
-            .map(Paths::get)
-            .filter(Files::isDirectory)
-            .map(this::listFiles)
-            .orElse(Stream.empty())
-            .filter(testAndLogFailure(this::isAllowed, log::warn,
-                "Skipping ambiguous file %s, because of separator '%s'", Path::toAbsolutePath, path -> separator))
-            .collect(Collectors.toMap(this::convertToPropertyName, this::toUri));
+        PropertyNameMapper mapper = createPropertyNameMapper(separator);
+        try (Stream<Path> files = listFiles(baseDir)) {
+            files.filter(testAndLogFailure(path -> isAllowed(path, separator), log::warn,
+                    "Skipping ambiguous file %s, because of separator '%s'", Path::toAbsolutePath, path -> separator))
+                .forEach(path -> action.accept(mapper.map(getFilename(path)), toUri(path)));
+        }
+    }
+
+    /**
+     * Creates the mapper converting filenames to property names. It is created once per scan. Override this method in
+     * order to plug in custom mapping rules.
+     *
+     * @param separator the configured separator; never {@literal null}
+     * @return a new instance of {@link PropertyNameMapper}; never {@literal null}
+     */
+    protected PropertyNameMapper createPropertyNameMapper(Separator separator) {
+        return PropertyNameMapper.compile(separator.getCharacter(), "");
     }
 
     private Separator getSeparator() {
@@ -78,29 +86,17 @@ public class FilenamePropertyIndexSupplier implements PropertyIndexSupplier {
         }
     }
 
-    private boolean isAllowed(Path path) {
-        return isDefaultSeparator() || !containsDefaultSeparator(path);
-    }
-
-    private boolean isDefaultSeparator() {
-        return Objects.equals(getSeparator(), DEFAULT_SEPARATOR);
+    private boolean isAllowed(Path path, Separator separator) {
+        return DEFAULT_SEPARATOR == separator || !containsDefaultSeparator(path);
     }
 
     private boolean containsDefaultSeparator(Path path) {
         String name = getFilename(path);
-        return name.lastIndexOf(DEFAULT_SEPARATOR.toString()) > 0;
-    }
-
-    private String convertToPropertyName(Path path) {
-        Separator separator = getSeparator();
-        String name = getFilename(path);
-        String property = name.replace(separator.getCharacter(), '.');
-        return property.toLowerCase(Locale.US);
+        return name.lastIndexOf(DEFAULT_SEPARATOR.getCharacter()) > 0;
     }
 
-    private String getFilename(Path path) {
-        File file = path.toFile();
-        return file.getName();
+    private static String getFilename(Path path) {
+        return path.getFileName().toString();
     }
 
     private String toUri(Path path) {
@@ -1,8 +1,10 @@
 package de.vinado.boot.secrets;
 
+import org.springframework.boot.ConfigurableBootstrapContext;
 import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.lang.Nullable;
 
 /**
  * An environment post-processor that resolves all files from a configurable directory.
@@ -15,8 +17,13 @@ public final class FilenameSecretsEnvironmentPostProcessor extends SecretsEnviro
 
     private final DeferredLogFactory logFactory;
 
-    public FilenameSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
-        super(logFactory);
+    FilenameSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this(logFactory, null);
+    }
+
+    public FilenameSecretsEnvironmentPostProcessor(DeferredLogFactory logFactory,
+                                                   @Nullable ConfigurableBootstrapContext bootstrapContext) {
+        super(logFactory, bootstrapContext);
         this.logFactory = logFactory;
     }
 
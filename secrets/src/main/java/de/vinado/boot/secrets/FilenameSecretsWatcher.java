@@ -0,0 +1,351 @@
+package de.vinado.boot.secrets;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.log.LogMessage;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * A component that watches <em>secrets.file.base-dir</em> for changes and reloads the affected secrets. Bursts of file
+ * system events are debounced, so that one refresh takes place after the directory has settled. Each refresh rescans
+ * the directory and compares every file's real path, size and modification time with the previous scan. Only files
+ * that were added or changed are read again. Following the real path covers Kubernetes, which mounts secrets as
+ * symbolic links into a <em>..data</em> directory and rotates them by swapping that link.
+ * </p><p>
+ * Files are loaded with their <em>secrets.content.policy.&lt;property&gt;</em> and the size limit of
+ * {@link SecretsEnvironment}. The changed properties are layered over the current <em>secretProperties</em> in a new
+ * property source, which replaces the current one at once. Other values are neither read nor copied, so that a
+ * {@link LazySecretPropertiesPropertySource} stays lazy. Afterwards a {@link SecretsChangedEvent} is published.
+ * </p><p>
+ * Only properties owned by {@link FilenameSecretsEnvironmentPostProcessor} are reloaded. A property whose value was
+ * set by another post-processor according to the {@link #setReport(SecretsReport) report} keeps that value, even if
+ * its file is changed or removed.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class FilenameSecretsWatcher implements Closeable {
+
+    private final Log log = LogFactory.getLog(getClass());
+    private final ConfigurableEnvironment environment;
+    private final SecretResolver resolver;
+    private final ApplicationEventPublisher publisher;
+    private final Duration debounce;
+    private final PropertyIndexSupplier indexSupplier;
+
+    private Map<String, Fingerprint> fingerprints = Collections.emptyMap();
+    private Set<String> foreignPropertyNames = Collections.emptySet();
+    private SecretsMetrics metrics = new SecretsMetrics();
+    private SecretsReport report = new SecretsReport();
+    @Nullable
+    private WatchService watchService;
+
+    public FilenameSecretsWatcher(ConfigurableEnvironment environment, SecretResolver resolver,
+                                  ApplicationEventPublisher publisher, Duration debounce) {
+        Assert.notNull(environment, "Environment must not be null");
+        Assert.notNull(resolver, "Resolver must not be null");
+        Assert.notNull(publisher, "Publisher must not be null");
+        Assert.notNull(debounce, "Debounce must not be null");
+        Assert.isTrue(!debounce.isNegative(), "Debounce must not be negative");
+
+        this.environment = environment;
+        this.resolver = resolver;
+        this.publisher = publisher;
+        this.debounce = debounce;
+        this.indexSupplier = new FilenamePropertyIndexSupplier(Supplier::get, environment);
+    }
+
+    /**
+     * Sets the {@link SecretsMetrics} to record reload latencies with. Defaults to an unshared instance.
+     *
+     * @param metrics the metrics recorder to be used; must not be {@literal null}
+     */
+    public void setMetrics(SecretsMetrics metrics) {
+        Assert.notNull(metrics, "Metrics must not be null");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the {@link SecretsReport} that tells which properties were set by other post-processors and records
+     * reloaded properties. Defaults to an unshared instance, in which case every file in the base directory is
+     * reloaded.
+     *
+     * @param report the report to be used; must not be {@literal null}
+     */
+    public void setReport(SecretsReport report) {
+        Assert.notNull(report, "Report must not be null");
+        this.report = report;
+    }
+
+    /**
+     * Takes a snapshot of the base directory and starts watching it in a background thread.
+     *
+     * @throws IOException if the watch service cannot be registered
+     */
+    public synchronized void start() throws IOException {
+        Path baseDir = Paths.get(environment.getProperty(FilenamePropertyIndexSupplier.BASE_DIR_PROPERTY,
+            FilenamePropertyIndexSupplier.DEFAULT_BASE_DIR));
+        if (!Files.isDirectory(baseDir)) {
+            log.warn(LogMessage.format("Not watching %s, because it is not a directory", baseDir));
+            return;
+        }
+
+        initialize();
+        WatchService service = baseDir.getFileSystem().newWatchService();
+        baseDir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        watchService = service;
+
+        Thread thread = new Thread(() -> watch(service), "secrets-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info(LogMessage.format("Watching %s for changed secrets", baseDir));
+    }
+
+    synchronized void initialize() {
+        String processor = FilenameSecretsEnvironmentPostProcessor.class.getName();
+        foreignPropertyNames = report.getEntries().stream()
+            .filter(entry -> null != entry.processor() && !processor.equals(entry.processor()))
+            .map(SecretsReport.Entry::propertyName)
+            .collect(Collectors.toUnmodifiableSet());
+        fingerprints = fingerprint(indexSupplier.get());
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                drain(service.take());
+                awaitQuietPeriod(service);
+                refresh();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Stopped watching secrets");
+        }
+    }
+
+    private void awaitQuietPeriod(WatchService service) throws InterruptedException {
+        WatchKey key = service.poll(debounce.toMillis(), TimeUnit.MILLISECONDS);
+        while (null != key) {
+            drain(key);
+            key = service.poll(debounce.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void drain(WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+
+    /**
+     * Rescans the base directory, reloads added or changed files and swaps <em>secretProperties</em>.
+     *
+     * @return the names of all added, changed or removed properties
+     */
+    public synchronized Set<String> refresh() {
+        try {
+            long start = System.nanoTime();
+            Set<String> propertyNames = doRefresh();
+            metrics.recordReload(Duration.ofNanos(System.nanoTime() - start));
+            return propertyNames;
+        } catch (RuntimeException e) {
+            log.error("Failed to reload secrets", e);
+            return Collections.emptySet();
+        }
+    }
+
+    private Set<String> doRefresh() {
+        Map<String, String> index = indexSupplier.get();
+        Map<String, Fingerprint> currentFingerprints = fingerprint(index);
+
+        SecretsEnvironment secretsEnvironment = new SecretsEnvironment(Supplier::get, environment, resolver,
+            indexSupplier);
+        secretsEnvironment.setMetrics(metrics);
+        secretsEnvironment.setReport(report.withProcessor(getClass().getName()));
+
+        Map<String, Object> changes = new HashMap<>();
+        Set<String> removals = new HashSet<>(fingerprints.keySet());
+        removals.removeAll(currentFingerprints.keySet());
+        currentFingerprints.forEach((propertyName, fingerprint) -> {
+            if (Objects.equals(fingerprint, fingerprints.get(propertyName))) {
+                return;
+            }
+
+            Optional<String> content = secretsEnvironment.reload(propertyName, index.get(propertyName));
+            if (content.isPresent()) {
+                changes.put(propertyName, content.get());
+            } else if (fingerprints.containsKey(propertyName)) {
+                removals.add(propertyName);
+            }
+        });
+        fingerprints = currentFingerprints;
+
+        Set<String> propertyNames = new HashSet<>(changes.keySet());
+        propertyNames.addAll(removals);
+        if (propertyNames.isEmpty()) {
+            return propertyNames;
+        }
+
+        swap(changes, removals);
+        propertyNames.forEach(propertyName ->
+            log.info(LogMessage.format("Reloaded secret value of [%s]", propertyName)));
+        publisher.publishEvent(new SecretsChangedEvent(this, propertyNames));
+        return propertyNames;
+    }
+
+    private void swap(Map<String, Object> changes, Set<String> removals) {
+        MutablePropertySources sources = environment.getPropertySources();
+        PropertySource<?> existingSource = sources.get(SecretPropertiesPropertySource.NAME);
+
+        PropertySource<?> parent = existingSource;
+        Map<String, Object> properties = new HashMap<>();
+        Set<String> removedNames = new HashSet<>();
+        if (existingSource instanceof ReloadedPropertySource reloadedSource) {
+            parent = reloadedSource.parent;
+            properties.putAll(reloadedSource.getSource());
+            removedNames.addAll(reloadedSource.removedNames);
+        }
+        properties.keySet().removeAll(removals);
+        properties.putAll(changes);
+        removedNames.removeAll(changes.keySet());
+        removedNames.addAll(removals);
+
+        ReloadedPropertySource propertySource = new ReloadedPropertySource(properties, removedNames, parent);
+        if (null == existingSource) {
+            sources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, propertySource);
+        } else {
+            sources.replace(SecretPropertiesPropertySource.NAME, propertySource);
+        }
+    }
+
+    private Map<String, Fingerprint> fingerprint(Map<String, String> index) {
+        Map<String, Fingerprint> result = new HashMap<>();
+        index.forEach((propertyName, location) -> {
+            if (!foreignPropertyNames.contains(propertyName)) {
+                fingerprint(location).ifPresent(fingerprint -> result.put(propertyName, fingerprint));
+            }
+        });
+        return result;
+    }
+
+    private Optional<Fingerprint> fingerprint(String location) {
+        try {
+            Path path = Paths.get(URI.create(location));
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return Optional.of(new Fingerprint(path.toRealPath(), attributes.size(), attributes.lastModifiedTime()));
+        } catch (IOException e) {
+            log.debug(LogMessage.format("Skipping %s, because it vanished", location), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stops watching the base directory.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (null != watchService) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private record Fingerprint(Path realPath, long size, FileTime lastModified) {
+    }
+
+    /**
+     * The reloaded properties layered over the <em>secretProperties</em> that were present before the first reload.
+     * Removed properties hide the value of the parent.
+     */
+    private static final class ReloadedPropertySource extends EnumerablePropertySource<Map<String, Object>>
+        implements OriginLookup<String> {
+
+        private final Set<String> removedNames;
+        @Nullable
+        private final PropertySource<?> parent;
+        private final String[] propertyNames;
+
+        ReloadedPropertySource(Map<String, Object> properties, Set<String> removedNames,
+                               @Nullable PropertySource<?> parent) {
+            super(SecretPropertiesPropertySource.NAME, Map.copyOf(properties));
+            this.removedNames = Set.copyOf(removedNames);
+            this.parent = parent;
+            this.propertyNames = collectPropertyNames(properties, removedNames, parent);
+        }
+
+        private static String[] collectPropertyNames(Map<String, Object> properties, Set<String> removedNames,
+                                                     @Nullable PropertySource<?> parent) {
+            Set<String> names = new LinkedHashSet<>(properties.keySet());
+            if (parent instanceof EnumerablePropertySource<?> enumerable) {
+                names.addAll(Arrays.asList(enumerable.getPropertyNames()));
+            }
+            names.removeAll(removedNames);
+            return StringUtils.toStringArray(names);
+        }
+
+        @Override
+        @Nullable
+        public Object getProperty(String name) {
+            Object value = getSource().get(name);
+            if (null != value || removedNames.contains(name)) {
+                return value;
+            }
+
+            return null == parent ? null : parent.getProperty(name);
+        }
+
+        @Override
+        public String[] getPropertyNames() {
+            return propertyNames.clone();
+        }
+
+        @Override
+        @Nullable
+        public Origin getOrigin(String key) {
+            return null;
+        }
+
+        @Override
+        public boolean isImmutable() {
+            return true;
+        }
+    }
+}
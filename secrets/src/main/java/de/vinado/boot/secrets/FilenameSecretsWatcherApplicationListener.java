@@ -0,0 +1,85 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * An application listener that starts a {@link FilenameSecretsWatcher} as soon as the application is ready and stops
+ * it once the application context is closed. Watching is disabled unless <em>secrets.file.watch.enabled</em> is set to
+ * {@literal true}. The quiet period after the last file system event defaults to 500 milliseconds and can be
+ * configured with <em>secrets.file.watch.debounce</em>. Files are reloaded through the same resolver chain as
+ * {@link FilenameSecretsEnvironmentPostProcessor}, i.e. they are decrypted if encryption is configured, but never
+ * served from the {@link SecretContentCache}.
+ * </p><p>
+ * Register this listener in <em>META-INF/spring.factories</em> with the key
+ * <em>org.springframework.context.ApplicationListener</em>.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class FilenameSecretsWatcherApplicationListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    public static final String ENABLED_PROPERTY = "secrets.file.watch.enabled";
+    public static final String DEBOUNCE_PROPERTY = "secrets.file.watch.debounce";
+    public static final String DEFAULT_DEBOUNCE = "500ms";
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        ConfigurableEnvironment environment = context.getEnvironment();
+        if (!environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return;
+        }
+
+        Duration debounce = DurationStyle.detectAndParse(environment.getProperty(DEBOUNCE_PROPERTY, DEFAULT_DEBOUNCE));
+        FilenameSecretsWatcher watcher = new FilenameSecretsWatcher(environment, getSecretResolver(context), context,
+            debounce);
+        watcher.setMetrics(context.getBeanProvider(SecretsMetrics.class).getIfAvailable(SecretsMetrics::new)
+            .withTag("processor", FilenameSecretsWatcher.class.getName()));
+        watcher.setReport(context.getBeanProvider(SecretsReport.class).getIfAvailable(SecretsReport::new));
+        start(watcher);
+        context.addApplicationListener(closedEvent -> {
+            if (closedEvent instanceof ContextClosedEvent) {
+                stop(watcher);
+            }
+        });
+    }
+
+    /**
+     * Creates the resolver chain of {@link FilenameSecretsEnvironmentPostProcessor}, but with a closed
+     * {@link SecretContentCache}, so that every reload reads the files again.
+     */
+    private static SecretResolver getSecretResolver(ConfigurableApplicationContext context) {
+        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+        SecretContentCache.get(bootstrapContext).close();
+        return new FilenameSecretsEnvironmentPostProcessor(Supplier::get, bootstrapContext)
+            .getSecretResolver(context, context.getEnvironment());
+    }
+
+    private static void start(FilenameSecretsWatcher watcher) {
+        try {
+            watcher.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to watch secrets", e);
+        }
+    }
+
+    private static void stop(FilenameSecretsWatcher watcher) {
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stop watching secrets", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.util.Assert;
+
+/**
+ * <p>
+ * A strategy for converting the name of a file or an environment variable to a property name.
+ * </p><p>
+ * {@link #compile(char, String)} creates the default mapper, which strips a suffix, replaces a separator with a period
+ * and converts the name to lowercase. Its settings are fixed at creation, so that every name is converted in a single
+ * pass over its characters.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+@FunctionalInterface
+public interface PropertyNameMapper {
+
+    /**
+     * Converts the given name to a property name.
+     *
+     * @param name the name of a file or an environment variable; never {@literal null}
+     * @return the property name; never {@literal null}
+     */
+    String map(String name);
+
+    /**
+     * Creates a mapper which strips the given suffix, replaces every separator with a period and converts the remaining
+     * characters to lowercase. Every name passed to the mapper must end with the suffix.
+     *
+     * @param separator the character to be replaced with a period
+     * @param suffix    the suffix to be stripped; must not be {@literal null}
+     * @return a new instance of {@link PropertyNameMapper}
+     */
+    static PropertyNameMapper compile(char separator, String suffix) {
+        Assert.notNull(suffix, "Suffix must not be null");
+        return new CompiledPropertyNameMapper(separator, suffix.length());
+    }
+}
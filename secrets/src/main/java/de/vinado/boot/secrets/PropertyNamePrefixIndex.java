@@ -0,0 +1,128 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.BootstrapRegistry;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.PropertySources;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * A sorted index over the property names of all {@link EnumerablePropertySource}s, including non-map sources like
+ * {@link org.springframework.core.env.CompositePropertySource}. Looking up the names with a certain prefix takes
+ * logarithmic time instead of scanning every key of every source.
+ * </p><p>
+ * The index is a snapshot. It is considered current as long as the same property source instances are present in the
+ * same order. <em>secretProperties</em> is neither indexed nor taken into account, because post-processors replace it
+ * on every merge.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class PropertyNamePrefixIndex {
+
+    private final List<PropertySource<?>> sources;
+    private final NavigableSet<String> propertyNames;
+
+    private PropertyNamePrefixIndex(List<PropertySource<?>> sources, NavigableSet<String> propertyNames) {
+        this.sources = sources;
+        this.propertyNames = propertyNames;
+    }
+
+    /**
+     * Creates a new index over the given property sources.
+     *
+     * @param sources the property sources to be indexed; must not be {@literal null}
+     * @return a new index; never {@literal null}
+     */
+    public static PropertyNamePrefixIndex of(PropertySources sources) {
+        Assert.notNull(sources, "Property sources must not be null");
+
+        List<PropertySource<?>> indexedSources = sources.stream()
+            .filter(PropertyNamePrefixIndex::isIndexed)
+            .toList();
+        NavigableSet<String> propertyNames = new TreeSet<>();
+        for (PropertySource<?> source : indexedSources) {
+            if (source instanceof EnumerablePropertySource<?> enumerableSource) {
+                propertyNames.addAll(Arrays.asList(enumerableSource.getPropertyNames()));
+            }
+        }
+        return new PropertyNamePrefixIndex(indexedSources, Collections.unmodifiableNavigableSet(propertyNames));
+    }
+
+    /**
+     * Returns the index shared through the given bootstrap context, as long as it is current. Otherwise, a new index is
+     * created and shared. A new, unshared index is created if no bootstrap context is available.
+     *
+     * @param bootstrapContext the application's bootstrap context; may be {@literal null}
+     * @param sources          the property sources to be indexed; must not be {@literal null}
+     * @return a current index; never {@literal null}
+     */
+    public static PropertyNamePrefixIndex get(@Nullable ConfigurableBootstrapContext bootstrapContext,
+                                              PropertySources sources) {
+        if (null == bootstrapContext) {
+            return of(sources);
+        }
+
+        bootstrapContext.registerIfAbsent(Holder.class, BootstrapRegistry.InstanceSupplier.from(Holder::new));
+        return bootstrapContext.get(Holder.class).get(sources);
+    }
+
+    private static boolean isIndexed(PropertySource<?> source) {
+        return source instanceof EnumerablePropertySource<?>
+            && !SecretPropertiesPropertySource.NAME.equals(source.getName());
+    }
+
+    /**
+     * Checks whether the given property sources consist of the same instances this index was created from.
+     *
+     * @param sources the property sources to compare; must not be {@literal null}
+     * @return {@literal true} if the index is still current
+     */
+    public boolean isCurrent(PropertySources sources) {
+        Iterator<PropertySource<?>> indexedSources = this.sources.iterator();
+        for (PropertySource<?> source : sources) {
+            if (!isIndexed(source)) {
+                continue;
+            }
+            if (!indexedSources.hasNext() || indexedSources.next() != source) {
+                return false;
+            }
+        }
+        return !indexedSources.hasNext();
+    }
+
+    /**
+     * Returns all indexed property names starting with the given prefix in ascending order.
+     *
+     * @param prefix the prefix to look up; must not be {@literal null}
+     * @return an unmodifiable view of the matching property names; never {@literal null}
+     */
+    public SortedSet<String> getPropertyNames(String prefix) {
+        Assert.notNull(prefix, "Prefix must not be null");
+        return propertyNames.subSet(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+
+    private static class Holder {
+
+        @Nullable
+        private PropertyNamePrefixIndex index;
+
+        synchronized PropertyNamePrefixIndex get(PropertySources sources) {
+            if (null == index || !index.isCurrent(sources)) {
+                index = of(sources);
+            }
+            return index;
+        }
+    }
+}
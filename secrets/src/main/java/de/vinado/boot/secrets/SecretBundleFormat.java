@@ -0,0 +1,130 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Enumeration of supported secret bundle formats. Each format flattens a document into property names and values.
+ * Nested keys and list indices are flattened the same way Spring Boot flattens its configuration files, e.g.
+ * <em>spring.datasource.password</em> or <em>app.clients[0].secret</em>.
+ * </p><p>
+ * YAML and JSON are parsed with SnakeYAML, which has to be present on the classpath. Keys of dotenv files are
+ * converted like environment variables, so that <em>SPRING_DATASOURCE_PASSWORD</em> becomes
+ * <em>spring.datasource.password</em>.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public enum SecretBundleFormat {
+
+    PROPERTIES("properties") {
+        @Override
+        public Map<String, String> parse(String content) {
+            return load(new PropertiesPropertySourceLoader(), content);
+        }
+    },
+    YAML("yml", "yaml") {
+        @Override
+        public Map<String, String> parse(String content) {
+            return load(new YamlPropertySourceLoader(), content);
+        }
+    },
+    JSON("json") {
+        @Override
+        public Map<String, String> parse(String content) {
+            return load(new YamlPropertySourceLoader(), content);
+        }
+    },
+    DOTENV("env") {
+        @Override
+        public Map<String, String> parse(String content) {
+            PropertyNameMapper mapper = PropertyNameMapper.compile('_', "");
+            Map<String, String> properties = new LinkedHashMap<>();
+            content.lines()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(line -> line.startsWith("export ") ? line.substring(7).stripLeading() : line)
+                .filter(line -> line.indexOf('=') > 0)
+                .forEach(line -> {
+                    int index = line.indexOf('=');
+                    String name = line.substring(0, index).strip();
+                    properties.put(mapper.map(name), unquote(line.substring(index + 1).strip()));
+                });
+            return properties;
+        }
+    };
+
+    private final String[] extensions;
+
+    SecretBundleFormat(String... extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * Flattens the given document.
+     *
+     * @param content the document to be parsed; never {@literal null}
+     * @return the property names and values in document order; never {@literal null}
+     */
+    public abstract Map<String, String> parse(String content);
+
+    /**
+     * Determines the format from the extension of the given location, e.g. <em>.yml</em> or <em>.env</em>.
+     *
+     * @param location the location of the bundle; must not be {@literal null}
+     * @return the matching format or {@link Optional#empty()} if the extension is unknown or missing
+     */
+    public static Optional<SecretBundleFormat> fromLocation(String location) {
+        Assert.notNull(location, "Location must not be null");
+        String extension = StringUtils.getFilenameExtension(location);
+        if (null == extension) {
+            return Optional.empty();
+        }
+
+        String normalizedExtension = extension.toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+            .filter(format -> Arrays.asList(format.extensions).contains(normalizedExtension))
+            .findFirst();
+    }
+
+    private static Map<String, String> load(PropertySourceLoader loader, String content) {
+        try {
+            ByteArrayResource resource = new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+            Map<String, String> properties = new LinkedHashMap<>();
+            for (PropertySource<?> source : loader.load("secretBundle", resource)) {
+                EnumerablePropertySource<?> enumerableSource = (EnumerablePropertySource<?>) source;
+                for (String name : enumerableSource.getPropertyNames()) {
+                    Object value = enumerableSource.getProperty(name);
+                    properties.put(name, null == value ? "" : value.toString());
+                }
+            }
+            return properties;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.length() > 1 && (value.startsWith("\"") && value.endsWith("\"")
+            || value.startsWith("'") && value.endsWith("'"))) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
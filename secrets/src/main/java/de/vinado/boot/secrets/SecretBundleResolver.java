@@ -0,0 +1,78 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * A resolver for single entries of secret bundles. Locations consist of the bundle's location and the property name,
+ * separated by <em>#</em>, e.g. <em>file:/run/secrets/app.yml#spring.datasource.password</em>. Hence, bundle
+ * locations must not contain <em>#</em> themselves.
+ * </p><p>
+ * Each bundle is loaded with the delegate and parsed once per instance, no matter how many of its entries are
+ * requested. The format is determined by the bundle's file extension. Bundles without a known extension are parsed
+ * with the default format.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class SecretBundleResolver implements SecretResolver {
+
+    public static final char ENTRY_SEPARATOR = '#';
+
+    private final SecretResolver delegate;
+    private final SecretBundleFormat defaultFormat;
+    private final Map<String, Map<String, String>> bundles = new ConcurrentHashMap<>();
+
+    public SecretBundleResolver(SecretResolver delegate, SecretBundleFormat defaultFormat) {
+        Assert.notNull(delegate, "Delegate must not be null");
+        Assert.notNull(defaultFormat, "Default format must not be null");
+
+        this.delegate = delegate;
+        this.defaultFormat = defaultFormat;
+    }
+
+    /**
+     * Creates the location of a single entry of a bundle.
+     *
+     * @param bundleLocation the location of the bundle; must not be {@literal null}
+     * @param propertyName   the property name of the entry; must not be {@literal null}
+     * @return the location of the entry; never {@literal null}
+     */
+    public static String getEntryLocation(String bundleLocation, String propertyName) {
+        return bundleLocation + ENTRY_SEPARATOR + propertyName;
+    }
+
+    /**
+     * Returns the flattened properties of the given bundle. A missing bundle has no properties.
+     *
+     * @param bundleLocation the location of the bundle; must not be {@literal null}
+     * @return the property names and values in document order; never {@literal null}
+     */
+    public Map<String, String> getProperties(String bundleLocation) {
+        Assert.notNull(bundleLocation, "Bundle location must not be null");
+        return bundles.computeIfAbsent(bundleLocation, this::parse);
+    }
+
+    private Map<String, String> parse(String bundleLocation) {
+        SecretBundleFormat format = SecretBundleFormat.fromLocation(bundleLocation).orElse(defaultFormat);
+        return delegate.loadContent(bundleLocation)
+            .map(format::parse)
+            .orElse(Map.of());
+    }
+
+    @Override
+    public Optional<String> loadContent(@Nullable String location) {
+        int index = null == location ? -1 : location.indexOf(ENTRY_SEPARATOR);
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        String propertyName = location.substring(index + 1);
+        return Optional.ofNullable(getProperties(location.substring(0, index)).get(propertyName));
+    }
+}
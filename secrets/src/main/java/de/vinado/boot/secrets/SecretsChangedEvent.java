@@ -0,0 +1,31 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.util.Assert;
+
+import java.util.Set;
+
+/**
+ * Event published after secret properties have been reloaded and swapped into the environment.
+ *
+ * @author Vincent Nadoll
+ */
+public class SecretsChangedEvent extends ApplicationEvent {
+
+    private final Set<String> propertyNames;
+
+    public SecretsChangedEvent(Object source, Set<String> propertyNames) {
+        super(source);
+        Assert.notNull(propertyNames, "Property names must not be null");
+        this.propertyNames = Set.copyOf(propertyNames);
+    }
+
+    /**
+     * Returns the names of all properties that were added, changed or removed.
+     *
+     * @return an unmodifiable set of property names; never {@literal null}
+     */
+    public Set<String> getPropertyNames() {
+        return propertyNames;
+    }
+}
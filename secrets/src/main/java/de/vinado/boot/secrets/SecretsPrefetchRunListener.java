@@ -0,0 +1,137 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * A run listener that starts reading secrets in the background as soon as the application starts. It lists the files
+ * in <em>secrets.file.base-dir</em> and reads them as well as the targets of all environment variables ending with
+ * <em>_FILE</em>. The contents are put into the {@link SecretContentCache} shared by all post-processors, which join on
+ * them instead of reading the same locations again.
+ * </p><p>
+ * The environment is not prepared yet when the application starts. The base directory is therefore only taken from
+ * system properties and environment variables. Targets containing placeholders are skipped. Every location that is
+ * only known after config data has been loaded, or whose prefetch failed, is read synchronously by the post-processors
+ * as before. No more locations are prefetched once the application context is prepared, that is after all
+ * post-processors have run.
+ * </p><p>
+ * Register this listener in <em>META-INF/spring.factories</em> with the key
+ * <em>org.springframework.boot.SpringApplicationRunListener</em>.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+public class SecretsPrefetchRunListener implements SpringApplicationRunListener, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final PropertyResolver propertyResolver;
+    private final SecretResolver resolver;
+    private final Executor executor;
+
+    public SecretsPrefetchRunListener(SpringApplication application, String[] args) {
+        this(new StandardEnvironment(), createSecretResolver(application), createExecutor());
+    }
+
+    SecretsPrefetchRunListener(PropertyResolver propertyResolver, SecretResolver resolver, Executor executor) {
+        this.propertyResolver = propertyResolver;
+        this.resolver = resolver;
+        this.executor = executor;
+    }
+
+    private static SecretResolver createSecretResolver(SpringApplication application) {
+        ResourceLoader resourceLoader = application.getResourceLoader();
+        return new FileSecretResolver(new DefaultSecretResolver(null == resourceLoader
+            ? new DefaultResourceLoader(application.getClassLoader())
+            : resourceLoader));
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "secrets-prefetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public void starting(ConfigurableBootstrapContext bootstrapContext) {
+        SecretContentCache cache = SecretContentCache.get(bootstrapContext);
+        try {
+            executor.execute(() -> prefetch(cache));
+        } catch (RejectedExecutionException e) {
+            // prefetching is an optimization only
+        }
+    }
+
+    private void prefetch(SecretContentCache cache) {
+        try {
+            getEnvironmentTargets().forEach(location -> cache.prefetch(location, resolver, executor));
+            try (Stream<Path> files = listBaseDir()) {
+                files.forEach(path -> cache.prefetch(path.toUri().toString(), resolver, executor));
+            }
+        } catch (IOException | RejectedExecutionException e) {
+            // prefetching is an optimization only, the post-processors read every location themselves
+        }
+    }
+
+    private static Stream<String> getEnvironmentTargets() {
+        String suffix = EnvironmentSecretsPropertyEnvironmentPostProcessor.ENV_VAR_SUFFIX;
+        return System.getenv().entrySet().stream()
+            .filter(entry -> entry.getKey().endsWith(suffix))
+            .map(Map.Entry::getValue)
+            .filter(StringUtils::hasText)
+            .filter(location -> !location.contains("${"));
+    }
+
+    private Stream<Path> listBaseDir() throws IOException {
+        Path baseDir = Paths.get(propertyResolver.getProperty(FilenamePropertyIndexSupplier.BASE_DIR_PROPERTY,
+            FilenamePropertyIndexSupplier.DEFAULT_BASE_DIR));
+        return Files.isDirectory(baseDir) ? Files.list(baseDir).filter(Files::isRegularFile) : Stream.empty();
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context) {
+        shutdown();
+    }
+
+    @Override
+    public void failed(@Nullable ConfigurableApplicationContext context, Throwable exception) {
+        shutdown();
+    }
+
+    private void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+}
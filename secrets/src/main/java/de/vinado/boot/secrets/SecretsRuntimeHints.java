@@ -0,0 +1,42 @@
+package de.vinado.boot.secrets;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link RuntimeHintsRegistrar} for native images. Spring Boot instantiates the environment post-processors, the
+ * watcher's application listener and the prefetching run listener reflectively from
+ * <em>META-INF/spring.factories</em>, so their public constructors are registered for invocation.
+ * </p><p>
+ * Nothing else requires hints: secrets are resolved at run time through {@link java.nio.file.Files} and Spring's
+ * {@link org.springframework.core.io.ResourceLoader}, and the property sources are created without reflection.
+ * Register resource hints yourself if secrets are loaded from <em>classpath:</em> locations.
+ * </p>
+ *
+ * @author Vincent Nadoll
+ */
+class SecretsRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> FACTORIES = List.of(
+        BundleSecretsEnvironmentPostProcessor.class,
+        FilenameSecretsEnvironmentPostProcessor.class,
+        FilenameConfigDataSecretsEnvironmentPostProcessor.class,
+        EnvironmentConfigDataSecretsEnvironmentPostProcessor.class,
+        EnvironmentSecretsPropertyEnvironmentPostProcessor.class,
+        CompositeSecretsEnvironmentPostProcessor.class,
+        FilenameSecretsWatcherApplicationListener.class,
+        SecretsPrefetchRunListener.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, @Nullable ClassLoader classLoader) {
+        hints.reflection().registerTypes(TypeReference.listOf(FACTORIES.toArray(Class<?>[]::new)),
+            hint -> hint.withMembers(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+    }
+}
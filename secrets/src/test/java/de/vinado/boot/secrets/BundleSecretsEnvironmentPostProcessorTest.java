@@ -0,0 +1,39 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BundleSecretsEnvironmentPostProcessorTest extends AbstractSecretsEnvironmentPostProcessorTest {
+
+    @Override
+    SecretsEnvironmentPostProcessor createPostProcessor() {
+        return new BundleSecretsEnvironmentPostProcessor(Supplier::get);
+    }
+
+    @Test
+    void bundles_shouldBeExpanded() {
+        addApplicationProperty(BundlePropertyIndexSupplier.LOCATIONS_PROPERTY,
+            "classpath:bundles/application.yml, classpath:bundles/application.json, classpath:bundles/application.env");
+
+        postProcessEnvironment();
+
+        assertEquals("bob", environment.getProperty("spring.datasource.username"));
+        assertEquals("1234password", environment.getProperty("spring.datasource.password"));
+        assertEquals("foo", environment.getProperty("app.clients[0].secret"));
+        assertEquals("bar", environment.getProperty("app.clients[1].secret"));
+        assertEquals("localhost", environment.getProperty("spring.mail.host"));
+        assertEquals("25", environment.getProperty("spring.mail.port"));
+    }
+
+    @Test
+    void bundleWithoutExtension_shouldBeParsedWithDefaultFormat() {
+        addApplicationProperty(BundlePropertyIndexSupplier.LOCATIONS_PROPERTY, "classpath:bundles/credentials");
+
+        postProcessEnvironment();
+
+        assertEquals("alice", environment.getProperty("spring.mail.username"));
+    }
+}
@@ -0,0 +1,84 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static de.vinado.boot.secrets.TestUtils.fileUriFromClasspath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompositeSecretsEnvironmentPostProcessorTest extends AbstractSecretsEnvironmentPostProcessorTest {
+
+    @Override
+    SecretsEnvironmentPostProcessor createPostProcessor() {
+        return new CompositeSecretsEnvironmentPostProcessor(Supplier::get);
+    }
+
+    @Test
+    void resourceDirectory_shouldBeProcessed() {
+        setUpResourceDirectory();
+
+        postProcessEnvironment();
+
+        assertEquals("password1234", environment.getProperty("spring.datasource.password"));
+        assertEquals("localhost", environment.getProperty("spring.mail.host"));
+    }
+
+    @Test
+    void laterPostProcessors_shouldOverrideEarlierOnes() {
+        setUpResourceDirectory();
+        addApplicationProperty("secrets.file.properties.spring.mail.host", "classpath:spring.datasource.username");
+        setProperty("SPRING_DATASOURCE_PASSWORD_FILE", fileUriFromClasspath("spring.datasource.password"));
+
+        postProcessEnvironment();
+
+        assertEquals("1234password", environment.getProperty("spring.datasource.password"));
+        assertEquals("alice", environment.getProperty("spring.mail.host"));
+    }
+
+    @Test
+    void emptyContent_shouldFallBackToEarlierPostProcessors() {
+        setUpResourceDirectory();
+        addApplicationProperty("secrets.file.properties.spring.mail.host", "classpath:secret.empty");
+
+        postProcessEnvironment();
+
+        assertEquals("localhost", environment.getProperty("spring.mail.host"));
+    }
+
+    @Test
+    void emptyContent_shouldFallBackToEarlierPostProcessors_whenLoadedLazily() {
+        setUpResourceDirectory();
+        addApplicationProperty(SecretsEnvironment.LAZY_PROPERTY, "true");
+        addApplicationProperty("secrets.file.properties.spring.mail.host", "classpath:secret.empty");
+
+        postProcessEnvironment();
+
+        assertEquals("localhost", environment.getProperty("spring.mail.host"));
+    }
+
+    @Test
+    void parallelIndexing_shouldMergeInDocumentedOrder() {
+        setUpResourceDirectory();
+        addApplicationProperty(CompositeSecretsEnvironmentPostProcessor.PARALLEL_PROPERTY, "true");
+        addApplicationProperty("secrets.file.properties.spring.mail.host", "classpath:spring.datasource.username");
+        setProperty("SPRING_DATASOURCE_PASSWORD_FILE", fileUriFromClasspath("spring.datasource.password"));
+
+        postProcessEnvironment();
+
+        assertEquals("1234password", environment.getProperty("spring.datasource.password"));
+        assertEquals("alice", environment.getProperty("spring.mail.host"));
+    }
+
+    private static void setUpResourceDirectory() {
+        System.setProperty(FilenamePropertyIndexSupplier.BASE_DIR_PROPERTY, "${user.dir}/src/test/resources");
+        System.setProperty(FilenamePropertyIndexSupplier.SEPARATOR_PROPERTY, "_");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(FilenamePropertyIndexSupplier.BASE_DIR_PROPERTY);
+        System.clearProperty(FilenamePropertyIndexSupplier.SEPARATOR_PROPERTY);
+    }
+}
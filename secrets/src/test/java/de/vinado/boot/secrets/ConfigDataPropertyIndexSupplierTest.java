@@ -3,7 +3,9 @@ package de.vinado.boot.secrets;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.DefaultPropertiesPropertySource;
+import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.StandardEnvironment;
 
 import java.util.HashMap;
@@ -69,6 +71,20 @@ class ConfigDataPropertyIndexSupplierTest {
         assertEquals(fileUriFromClasspath("secret.empty"), index.get("secret.empty"));
     }
 
+    @Test
+    void compositeConfigData_shouldBeIndexed() {
+        CompositePropertySource composite = new CompositePropertySource("composite");
+        composite.addPropertySource(new MapPropertySource("nested",
+            Map.of("secrets.file.properties.spring.mail.host", "classpath:spring_mail_host")));
+        environment.getPropertySources().addLast(composite);
+        setUpSupplier(Map.of("secrets.file.properties.spring.mail.host", "classpath:spring_mail_password"));
+
+        Map<String, String> index = supplier.get();
+
+        assertEquals(1, index.size());
+        assertEquals("classpath:spring_mail_host", index.get("spring.mail.host"));
+    }
+
     private void setUpSupplier(Map<String, Object> applicationProperties) {
         DefaultPropertiesPropertySource.addOrMerge(applicationProperties, environment.getPropertySources());
 
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.logging.DeferredLogFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.StandardEnvironment;
 
 import java.util.HashMap;
@@ -106,6 +107,38 @@ class EnvironmentPropertyIndexSupplierTest {
         assertTrue(index.size() > 0);
     }
 
+    @Test
+    void systemEnvironmentLookup_shouldNotResolvePlaceholders() {
+        addPlaceholderProperty();
+
+        createIndex("_FILE", EnvironmentPropertyIndexSupplier.Lookup.SYSTEM_ENVIRONMENT);
+
+        assertEntry("spring.mail.host", "file:${secrets.dir}/spring_mail_host");
+    }
+
+    @Test
+    void systemEnvironmentLookup_shouldResolvePlaceholders_whenConfigured() {
+        addPlaceholderProperty();
+
+        createIndex("_FILE", EnvironmentPropertyIndexSupplier.Lookup.SYSTEM_ENVIRONMENT_WITH_PLACEHOLDERS);
+
+        assertEntry("spring.mail.host", "file:/run/secrets/spring_mail_host");
+    }
+
+    @Test
+    void systemEnvironmentLookup_shouldNotIndexEmptyProperty() {
+        addProperty("EMPTY_SECRET_FILE", "");
+
+        createIndex("_FILE", EnvironmentPropertyIndexSupplier.Lookup.SYSTEM_ENVIRONMENT);
+
+        assertFalse(index.containsKey("empty.secret"));
+    }
+
+    private void addPlaceholderProperty() {
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of("secrets.dir", "/run/secrets")));
+        addProperty("SPRING_MAIL_HOST_FILE", "file:${secrets.dir}/spring_mail_host");
+    }
+
     private void addProperty(String key, String value) {
         Map<String, Object> systemProperties = new HashMap<>(environment.getSystemEnvironment());
         systemProperties.put(key, value);
@@ -114,8 +147,12 @@ class EnvironmentPropertyIndexSupplierTest {
     }
 
     private void createIndex(String suffix) {
+        createIndex(suffix, EnvironmentPropertyIndexSupplier.Lookup.PROPERTY_RESOLVER);
+    }
+
+    private void createIndex(String suffix, EnvironmentPropertyIndexSupplier.Lookup lookup) {
         EnvironmentPropertyIndexSupplier supplier =
-            new EnvironmentPropertyIndexSupplier(Supplier::get, environment, suffix);
+            new EnvironmentPropertyIndexSupplier(Supplier::get, environment, suffix, lookup);
         index = supplier.get();
     }
 
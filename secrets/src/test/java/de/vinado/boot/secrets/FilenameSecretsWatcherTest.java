@@ -0,0 +1,145 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilenameSecretsWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private ConfigurableEnvironment environment;
+    private List<Object> events;
+    private SecretResolver resolver;
+    private FilenameSecretsWatcher watcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+            Map.of(FilenamePropertyIndexSupplier.BASE_DIR_PROPERTY, directory.toString(),
+                SecretsEnvironment.CONTENT_POLICY_PROPERTY_PREFIX + "server.ssl.key-store", "BASE64")));
+        events = new ArrayList<>();
+
+        Files.writeString(directory.resolve("spring.datasource.username"), "alice");
+        Files.writeString(directory.resolve("spring.datasource.password"), "password1234");
+        SecretPropertiesPropertySource.merge(Map.of("spring.datasource.username", "alice",
+            "spring.datasource.password", "password1234"), environment.getPropertySources());
+
+        resolver = new FileSecretResolver(new DefaultSecretResolver(new DefaultResourceLoader()));
+        watcher = new FilenameSecretsWatcher(environment, resolver, events::add, Duration.ZERO);
+        watcher.initialize();
+    }
+
+    @Test
+    void unchangedDirectory_shouldNotReload() {
+        Set<String> propertyNames = watcher.refresh();
+
+        assertTrue(propertyNames.isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void changedFile_shouldBeReloaded() throws IOException {
+        Files.writeString(directory.resolve("spring.datasource.password"), "1234password5678");
+
+        Set<String> propertyNames = watcher.refresh();
+
+        assertEquals(Set.of("spring.datasource.password"), propertyNames);
+        assertEquals("1234password5678", environment.getProperty("spring.datasource.password"));
+        assertEquals("alice", environment.getProperty("spring.datasource.username"));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void addedAndRemovedFiles_shouldBeReloaded() throws IOException {
+        Files.writeString(directory.resolve("spring.mail.host"), "localhost");
+        Files.delete(directory.resolve("spring.datasource.username"));
+
+        Set<String> propertyNames = watcher.refresh();
+
+        assertEquals(Set.of("spring.mail.host", "spring.datasource.username"), propertyNames);
+        assertEquals("localhost", environment.getProperty("spring.mail.host"));
+        assertNull(environment.getProperty("spring.datasource.username"));
+    }
+
+    @Test
+    void swappedSymbolicLink_shouldBeReloaded() throws IOException {
+        Path first = Files.createDirectory(directory.resolve("..2023_01"));
+        Path second = Files.createDirectory(directory.resolve("..2023_02"));
+        Files.writeString(first.resolve("spring.mail.host"), "localhost");
+        Files.writeString(second.resolve("spring.mail.host"), "127.0.0.1");
+        Path data = Files.createSymbolicLink(directory.resolve("..data"), first.getFileName());
+        Files.createSymbolicLink(directory.resolve("spring.mail.host"), data.getFileName().resolve("spring.mail.host"));
+        watcher.refresh();
+
+        Files.delete(data);
+        Files.createSymbolicLink(data, second.getFileName());
+        Set<String> propertyNames = watcher.refresh();
+
+        assertEquals(Set.of("spring.mail.host"), propertyNames);
+        assertEquals("127.0.0.1", environment.getProperty("spring.mail.host"));
+    }
+
+    @Test
+    void changedBinaryFile_shouldApplyContentPolicy() throws IOException {
+        Files.write(directory.resolve("server.ssl.key-store"), new byte[]{0x30, (byte) 0x82, 0x00, 0x0a});
+
+        watcher.refresh();
+
+        assertEquals("MIIACg==", environment.getProperty("server.ssl.key-store"));
+    }
+
+    @Test
+    void changedFile_shouldNotLoadLazySecrets() throws IOException {
+        Files.writeString(directory.resolve("spring.mail.password"), "secret");
+        LazySecretPropertiesPropertySource.merge(Map.of("spring.mail.username", "file:/run/secrets/username"),
+            resolver, environment.getPropertySources());
+        LazySecretPropertiesPropertySource lazySource = (LazySecretPropertiesPropertySource) environment
+            .getPropertySources().get(LazySecretPropertiesPropertySource.NAME);
+
+        watcher.refresh();
+
+        assertEquals(Set.of("spring.mail.username"), lazySource.getUnreadPropertyNames());
+        assertEquals("secret", environment.getProperty("spring.mail.password"));
+        assertEquals("alice", environment.getProperty("spring.datasource.username"));
+    }
+
+    @Test
+    void propertiesOfOtherProcessors_shouldNotBeReloaded() throws IOException {
+        SecretsReport report = new SecretsReport();
+        report.withProcessor(FilenameSecretsEnvironmentPostProcessor.class.getName())
+            .recordEntry("spring.datasource.password", "file:/password", Optional.of("password1234"), Duration.ZERO);
+        report.withProcessor(EnvironmentSecretsPropertyEnvironmentPostProcessor.class.getName())
+            .recordEntry("spring.datasource.username", "file:/username", Optional.of("alice"), Duration.ZERO);
+        watcher.setReport(report);
+        watcher.initialize();
+        Files.delete(directory.resolve("spring.datasource.username"));
+        Files.delete(directory.resolve("spring.datasource.password"));
+
+        Set<String> propertyNames = watcher.refresh();
+
+        assertEquals(Set.of("spring.datasource.password"), propertyNames);
+        assertEquals("alice", environment.getProperty("spring.datasource.username"));
+        assertNull(environment.getProperty("spring.datasource.password"));
+    }
+}
@@ -10,7 +10,8 @@ public class OrderTest {
     // CHECKSTYLE.OFF: LineLength
     @Test
     void testOrder() {
-        assertTrue(ConfigDataEnvironmentPostProcessor.ORDER < FilenameSecretsEnvironmentPostProcessor.ORDER);
+        assertTrue(ConfigDataEnvironmentPostProcessor.ORDER < BundleSecretsEnvironmentPostProcessor.ORDER);
+        assertTrue(BundleSecretsEnvironmentPostProcessor.ORDER < FilenameSecretsEnvironmentPostProcessor.ORDER);
         assertTrue(FilenameSecretsEnvironmentPostProcessor.ORDER < FilenameConfigDataSecretsEnvironmentPostProcessor.ORDER);
         assertTrue(FilenameConfigDataSecretsEnvironmentPostProcessor.ORDER < EnvironmentConfigDataSecretsEnvironmentPostProcessor.ORDER);
         assertTrue(EnvironmentConfigDataSecretsEnvironmentPostProcessor.ORDER < EnvironmentSecretsPropertyEnvironmentPostProcessor.ORDER);
@@ -0,0 +1,49 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PropertyNameMapperTest {
+
+    @Test
+    void nullSuffix_shouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> PropertyNameMapper.compile('_', null));
+    }
+
+    @Test
+    void environmentVariable_shouldBeMapped() {
+        PropertyNameMapper mapper = PropertyNameMapper.compile('_', "_FILE");
+
+        assertEquals("spring.datasource.password", mapper.map("SPRING_DATASOURCE_PASSWORD_FILE"));
+    }
+
+    @Test
+    void filename_shouldBeMapped() {
+        PropertyNameMapper mapper = PropertyNameMapper.compile('.', "");
+
+        assertEquals("spring.mail-host.port1", mapper.map("Spring.Mail-Host.PORT1"));
+    }
+
+    @Test
+    void otherSeparators_shouldBeKept() {
+        PropertyNameMapper mapper = PropertyNameMapper.compile('_', "");
+
+        assertEquals("spring.mail-host.port", mapper.map("spring_mail-host.PORT"));
+    }
+
+    @Test
+    void nonAsciiName_shouldBeMapped() {
+        PropertyNameMapper mapper = PropertyNameMapper.compile('_', "_FILE");
+
+        assertEquals("straße.größe", mapper.map("STRAßE_GRÖßE_FILE"));
+    }
+
+    @Test
+    void suffixOnly_shouldBeMappedToEmptyName() {
+        PropertyNameMapper mapper = PropertyNameMapper.compile('_', "_FILE");
+
+        assertEquals("", mapper.map("_FILE"));
+    }
+}
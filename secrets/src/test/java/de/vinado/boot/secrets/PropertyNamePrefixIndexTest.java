@@ -0,0 +1,89 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PropertyNamePrefixIndexTest {
+
+    private MutablePropertySources sources;
+
+    @BeforeEach
+    void setUp() {
+        sources = new MutablePropertySources();
+        sources.addLast(new SystemEnvironmentPropertySource(
+            StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, Map.of()));
+        sources.addLast(new MapPropertySource("first", Map.of(
+            "secrets.file.properties.spring.mail.host", "foo",
+            "secrets.file.properties", "bar",
+            "secrets.files", "baz",
+            "spring.mail.host", "qux")));
+
+        CompositePropertySource composite = new CompositePropertySource("composite");
+        composite.addPropertySource(new MapPropertySource("nested", Map.of(
+            "secrets.file.properties.spring.mail.username", "foo",
+            "secrets.file.properties.spring.mail.host", "bar")));
+        sources.addLast(composite);
+    }
+
+    @Test
+    void prefix_shouldMatchAllSources() {
+        PropertyNamePrefixIndex index = PropertyNamePrefixIndex.of(sources);
+
+        List<String> propertyNames = List.copyOf(index.getPropertyNames("secrets.file.properties"));
+
+        assertEquals(List.of("secrets.file.properties", "secrets.file.properties.spring.mail.host",
+            "secrets.file.properties.spring.mail.username"), propertyNames);
+    }
+
+    @Test
+    void unknownPrefix_shouldMatchNothing() {
+        PropertyNamePrefixIndex index = PropertyNamePrefixIndex.of(sources);
+
+        assertTrue(index.getPropertyNames("secrets.env.properties").isEmpty());
+    }
+
+    @Test
+    void replacedSecretProperties_shouldKeepIndexCurrent() {
+        PropertyNamePrefixIndex index = PropertyNamePrefixIndex.of(sources);
+
+        SecretPropertiesPropertySource.merge(Map.of("spring.mail.password", "1234"), sources);
+
+        assertTrue(index.isCurrent(sources));
+    }
+
+    @Test
+    void addedSource_shouldOutdateIndex() {
+        PropertyNamePrefixIndex index = PropertyNamePrefixIndex.of(sources);
+
+        sources.addFirst(new MapPropertySource("second", Map.of("spring.mail.port", "25")));
+
+        assertFalse(index.isCurrent(sources));
+    }
+
+    @Test
+    void bootstrapContext_shouldShareCurrentIndex() {
+        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+        PropertyNamePrefixIndex index = PropertyNamePrefixIndex.get(bootstrapContext, sources);
+
+        assertSame(index, PropertyNamePrefixIndex.get(bootstrapContext, sources));
+
+        sources.remove("composite");
+
+        assertNotSame(index, PropertyNamePrefixIndex.get(bootstrapContext, sources));
+    }
+}
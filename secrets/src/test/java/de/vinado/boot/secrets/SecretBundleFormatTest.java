@@ -0,0 +1,74 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SecretBundleFormatTest {
+
+    @Test
+    void extension_shouldDetermineFormat() {
+        assertEquals(Optional.of(SecretBundleFormat.YAML), SecretBundleFormat.fromLocation("file:/run/secrets/a.YML"));
+        assertEquals(Optional.of(SecretBundleFormat.YAML), SecretBundleFormat.fromLocation("classpath:app.yaml"));
+        assertEquals(Optional.of(SecretBundleFormat.JSON), SecretBundleFormat.fromLocation("/run/secrets/app.json"));
+        assertEquals(Optional.of(SecretBundleFormat.DOTENV), SecretBundleFormat.fromLocation("/run/secrets/.env"));
+        assertEquals(Optional.empty(), SecretBundleFormat.fromLocation("/run/secrets/credentials"));
+    }
+
+    @Test
+    void yaml_shouldBeFlattened() {
+        Map<String, String> properties = SecretBundleFormat.YAML.parse("""
+            spring:
+              datasource:
+                password: password1234
+            app:
+              clients:
+                - secret: foo
+                - secret: bar
+            """);
+
+        assertEquals(Map.of("spring.datasource.password", "password1234",
+            "app.clients[0].secret", "foo",
+            "app.clients[1].secret", "bar"), properties);
+    }
+
+    @Test
+    void json_shouldBeFlattened() {
+        Map<String, String> properties = SecretBundleFormat.JSON.parse("""
+            {"spring": {"mail": {"host": "localhost", "port": 25}}}
+            """);
+
+        assertEquals(Map.of("spring.mail.host", "localhost", "spring.mail.port", "25"), properties);
+    }
+
+    @Test
+    void properties_shouldBeParsed() {
+        Map<String, String> properties = SecretBundleFormat.PROPERTIES.parse("""
+            # comment
+            spring.datasource.username=alice
+            spring.datasource.password = password1234
+            """);
+
+        assertEquals(Map.of("spring.datasource.username", "alice",
+            "spring.datasource.password", "password1234"), properties);
+    }
+
+    @Test
+    void dotenv_shouldBeConvertedLikeEnvironmentVariables() {
+        Map<String, String> properties = SecretBundleFormat.DOTENV.parse("""
+            # comment
+            SPRING_DATASOURCE_USERNAME=alice
+            export SPRING_DATASOURCE_PASSWORD="password=1234"
+            SPRING_MAIL_HOST='localhost'
+
+            INVALID
+            """);
+
+        assertEquals(Map.of("spring.datasource.username", "alice",
+            "spring.datasource.password", "password=1234",
+            "spring.mail.host", "localhost"), properties);
+    }
+}
@@ -0,0 +1,43 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecretBundleResolverTest {
+
+    private List<String> locations;
+    private SecretBundleResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        locations = new ArrayList<>();
+        resolver = new SecretBundleResolver(location -> {
+            locations.add(location);
+            return location.endsWith("missing") ? Optional.empty() : Optional.of("foo=bar\nbaz=qux");
+        }, SecretBundleFormat.PROPERTIES);
+    }
+
+    @Test
+    void entries_shouldBeResolvedFromOneRead() {
+        assertEquals(Optional.of("bar"), resolver.loadContent(SecretBundleResolver.getEntryLocation("bundle", "foo")));
+        assertEquals(Optional.of("qux"), resolver.loadContent(SecretBundleResolver.getEntryLocation("bundle", "baz")));
+        assertEquals(Map.of("foo", "bar", "baz", "qux"), resolver.getProperties("bundle"));
+        assertEquals(List.of("bundle"), locations);
+    }
+
+    @Test
+    void unknownEntries_shouldBeEmpty() {
+        assertEquals(Optional.empty(), resolver.loadContent(SecretBundleResolver.getEntryLocation("bundle", "quux")));
+        assertEquals(Optional.empty(), resolver.loadContent("bundle"));
+        assertEquals(Optional.empty(), resolver.loadContent((String) null));
+        assertTrue(resolver.getProperties("missing").isEmpty());
+    }
+}
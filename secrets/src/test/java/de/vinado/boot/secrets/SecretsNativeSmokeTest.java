@@ -0,0 +1,41 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = SecretsNativeSmokeTest.Config.class, properties = {
+    "secrets.file.properties.spring.mail.host=classpath:spring_mail_host"
+})
+class SecretsNativeSmokeTest {
+
+    @Autowired
+    private ConfigurableEnvironment environment;
+
+    @Test
+    void startup_shouldResolveSecrets() {
+        assertEquals("localhost", environment.getProperty("spring.mail.host"));
+        assertTrue(environment.getPropertySources().contains(SecretPropertiesPropertySource.NAME));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportRuntimeHints(Config.Hints.class)
+    static class Config {
+
+        static class Hints implements RuntimeHintsRegistrar {
+
+            @Override
+            public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+                hints.resources().registerPattern("spring_mail_host");
+            }
+        }
+    }
+}
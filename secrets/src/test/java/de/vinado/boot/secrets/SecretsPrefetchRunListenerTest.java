@@ -0,0 +1,78 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecretsPrefetchRunListenerTest {
+
+    @TempDir
+    Path directory;
+
+    private StandardEnvironment environment;
+    private List<String> locations;
+    private SecretResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+            Map.of(FilenamePropertyIndexSupplier.BASE_DIR_PROPERTY, directory.toString())));
+        Files.writeString(directory.resolve("spring.mail.host"), "localhost");
+        Files.createDirectory(directory.resolve("..data"));
+
+        locations = new ArrayList<>();
+        SecretResolver fileResolver = new FileSecretResolver(new DefaultSecretResolver(new DefaultResourceLoader()));
+        resolver = location -> {
+            locations.add(location);
+            return fileResolver.loadContent(location);
+        };
+    }
+
+    @Test
+    void starting_shouldPrefetchBaseDir() {
+        DefaultBootstrapContext bootstrapContext = new DefaultBootstrapContext();
+        SecretsPrefetchRunListener listener = new SecretsPrefetchRunListener(environment, resolver, Runnable::run);
+
+        listener.starting(bootstrapContext);
+
+        String location = directory.resolve("spring.mail.host").toUri().toString();
+        Optional<String> content = SecretContentCache.get(bootstrapContext).load(location, this::fail);
+        assertEquals(Optional.of("localhost"), content);
+        assertTrue(locations.contains(location));
+        assertTrue(locations.stream().noneMatch(prefetched -> prefetched.contains("..data")));
+    }
+
+    @Test
+    void preparedContext_shouldStopPrefetching() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        SecretsPrefetchRunListener listener = new SecretsPrefetchRunListener(environment, resolver, executor);
+
+        listener.contextPrepared(null);
+
+        assertTrue(executor.isShutdown());
+        assertDoesNotThrow(() -> listener.starting(new DefaultBootstrapContext()));
+    }
+
+    private Optional<String> fail(String location) {
+        throw new AssertionError("Location should have been prefetched: " + location);
+    }
+}
@@ -0,0 +1,82 @@
+package de.vinado.boot.secrets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.AotServices;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.io.support.SpringFactoriesLoader.ArgumentResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecretsRuntimeHintsTest {
+
+    private static final List<Class<?>> FACTORIES = List.of(
+        BundleSecretsEnvironmentPostProcessor.class,
+        FilenameSecretsEnvironmentPostProcessor.class,
+        FilenameConfigDataSecretsEnvironmentPostProcessor.class,
+        EnvironmentConfigDataSecretsEnvironmentPostProcessor.class,
+        EnvironmentSecretsPropertyEnvironmentPostProcessor.class,
+        CompositeSecretsEnvironmentPostProcessor.class,
+        FilenameSecretsWatcherApplicationListener.class,
+        SecretsPrefetchRunListener.class
+    );
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new SecretsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registrar_shouldBeLoadedFromAotFactories() {
+        assertTrue(AotServices.factories().load(RuntimeHintsRegistrar.class).stream()
+            .anyMatch(SecretsRuntimeHints.class::isInstance));
+    }
+
+    @Test
+    void factories_shouldHavePublicConstructorsRegistered() {
+        for (Class<?> type : FACTORIES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints), type.getName());
+        }
+    }
+
+    @Test
+    void factories_shouldBeInstantiable() {
+        SpringFactoriesLoader loader = SpringFactoriesLoader.forResourceLocation(
+            "META-INF/secrets-factories.properties");
+        ArgumentResolver argumentResolver = ArgumentResolver.of(DeferredLogFactory.class, Supplier::get)
+            .and(ConfigurableBootstrapContext.class, new DefaultBootstrapContext())
+            .and(SpringApplication.class, new SpringApplication())
+            .and(String[].class, new String[0]);
+
+        List<Object> instances = new ArrayList<>();
+        instances.addAll(loader.load(EnvironmentPostProcessor.class, argumentResolver));
+        instances.addAll(loader.load(ApplicationListener.class, argumentResolver));
+        instances.addAll(loader.load(SpringApplicationRunListener.class, argumentResolver));
+
+        assertEquals(Set.copyOf(FACTORIES), instances.stream()
+            .map(Object::getClass)
+            .collect(Collectors.toSet()));
+    }
+}